@@ -0,0 +1,92 @@
+package com.aravindcz.bankrestapi.benchmarks;
+
+import com.aravindcz.bankrestapi.models.dtos.ResponseDTO;
+import com.aravindcz.bankrestapi.models.dtos.StreamingResponseDTO;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.models.mappers.AddressMapperImpl;
+import com.aravindcz.bankrestapi.models.mappers.CustomerMapper;
+import com.aravindcz.bankrestapi.models.mappers.CustomerMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * ContentEncodingBenchmark - measures the encoding and decoding of the uniform response envelope of GET /api/v1/customers in the
+ * json , cbor and smile encodings the controllers negotiate , the object mappers are built the way BinaryContentConfiguration
+ * builds them and the customers are written through the StreamingResponseDTO the endpoint returns , the encode benchmark also
+ * reports the payload size of each encoding in bytes as the payloadBytes counter
+ * @author Aravind C
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String encoding;
+
+    @Param({"10", "200"})
+    private int customers;
+
+    private ObjectMapper objectMapper;
+
+    private ResponseDTO responseDTO;
+
+    private byte[] payload;
+
+    /**
+     * PayloadSize - auxiliary counter holding the size of the last encoded payload , it is the same for every operation so the
+     * reported value is the payload size
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+
+        objectMapper = switch (encoding) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+
+        CustomerMapper customerMapper = new CustomerMapperImpl(new AddressMapperImpl());
+        List<Customer> customerList = LongStream.rangeClosed(1, customers)
+                .mapToObj(id -> Fixtures.customer(id, 0))
+                .collect(Collectors.toList());
+
+        responseDTO = new StreamingResponseDTO<>(200, "Customer details successfully retrieved", customerList,
+                customerMapper::toCustomerDTO, "MjAw");
+        payload = objectMapper.writeValueAsBytes(responseDTO);
+    }
+
+    @Benchmark
+    public byte[] encode(PayloadSize payloadSize) throws IOException {
+        byte[] encoded = objectMapper.writeValueAsBytes(responseDTO);
+        payloadSize.payloadBytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public ResponseDTO decode() throws IOException {
+        return objectMapper.readValue(payload, ResponseDTO.class);
+    }
+
+}
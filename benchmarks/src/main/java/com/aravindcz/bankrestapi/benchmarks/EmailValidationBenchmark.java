@@ -0,0 +1,41 @@
+package com.aravindcz.bankrestapi.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * EmailValidationBenchmark - measures the registration email check with the pattern compiled on every call , as
+ * CustomerService.validateEmail and EmployeeService.validateEmail used to do , against the pattern compiled once that they now
+ * keep in EMAIL_PATTERN
+ * @author Aravind C
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailValidationBenchmark {
+
+    private static final String REGEX_PATTERN = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$";
+
+    private static final Pattern COMPILED_PATTERN = Pattern.compile(REGEX_PATTERN);
+
+    @Param({"aravind.c@bank.com", "not-an-email"})
+    private String email;
+
+    @Benchmark
+    public boolean compiledPerCall() {
+        return Pattern.compile(REGEX_PATTERN)
+                .matcher(email)
+                .matches();
+    }
+
+    @Benchmark
+    public boolean compiledOnce() {
+        return COMPILED_PATTERN.matcher(email).matches();
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.aravindcz.bankrestapi.benchmarks;
+
+import com.aravindcz.bankrestapi.BankRestapiApplication;
+import com.aravindcz.bankrestapi.configurations.UserDetailsImplementation;
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * EmbeddedApplication - boots the API against an in memory database and runs service calls the way a request would , inside a
+ * fresh request scope with the given principal and an open persistence context , every server listens on a random port so the
+ * benchmarks do not collide with a running instance
+ * @author Aravind C
+ */
+final class EmbeddedApplication {
+
+    private static final String[] ARGUMENTS = {
+            "--server.port=0",
+            "--management.server.port=0",
+            "--reactive.server.port=0",
+            "--security.access-token.secret=benchmark-access-token-secret-of-32-bytes",
+            "--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1;MODE=MySQL",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.jpa.hibernate.ddl-auto=validate",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=error"
+    };
+
+    private EmbeddedApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... arguments) {
+
+        String[] allArguments = Arrays.copyOf(ARGUMENTS, ARGUMENTS.length + arguments.length);
+        System.arraycopy(arguments, 0, allArguments, ARGUMENTS.length, arguments.length);
+
+        return new SpringApplicationBuilder(BankRestapiApplication.class).run(allArguments);
+    }
+
+    static UserDetailsImplementation customerPrincipal(String email, long customerId) {
+        return new UserDetailsImplementation(new UserDTO(email, null, "ROLE_CUSTOMER"), customerId);
+    }
+
+    static <T> T inRequest(TransactionTemplate transactionTemplate, UserDetailsImplementation principal, Callable<T> call) {
+
+        ServletRequestAttributes requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        try {
+            return transactionTemplate.execute(status -> {
+                try {
+                    return call.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } finally {
+            requestAttributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+}
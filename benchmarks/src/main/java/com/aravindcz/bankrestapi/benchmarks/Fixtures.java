@@ -0,0 +1,33 @@
+package com.aravindcz.bankrestapi.benchmarks;
+
+import com.aravindcz.bankrestapi.fixtures.TestFixtures;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+
+/**
+ * Fixtures - builds customer and offering graphs shaped like the ones the services load from the database , with the builder
+ * of the api test fixtures
+ * @author Aravind C
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static long productNumber(long id, int product) {
+        return id * 100_000 + product;
+    }
+
+    static Customer customer(long id, int products) {
+
+        TestFixtures.CustomerBuilder customerBuilder = TestFixtures.customer("customer" + id + "@bank.com")
+                .id(id)
+                .name("Customer " + id)
+                .accountNumber(9000 + id);
+
+        for(int i = 0; i < products; i++)
+            customerBuilder.loan(productNumber(id, i), 10_000 + i).locker(productNumber(id, i));
+
+        return customerBuilder.build();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.aravindcz.bankrestapi.benchmarks;
+
+import com.aravindcz.bankrestapi.models.dtos.CustomerDTO;
+import com.aravindcz.bankrestapi.models.dtos.OfferingDTO;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.models.mappers.AddressMapperImpl;
+import com.aravindcz.bankrestapi.models.mappers.CustomerMapper;
+import com.aravindcz.bankrestapi.models.mappers.CustomerMapperImpl;
+import com.aravindcz.bankrestapi.models.mappers.OfferingMapper;
+import com.aravindcz.bankrestapi.models.mappers.OfferingMapperImpl;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MappingBenchmark - compares the reflective model mapper with the generated mappers on the customer and offering graphs
+ * @author Aravind C
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int products;
+
+    private ModelMapper modelMapper;
+
+    private CustomerMapper customerMapper;
+
+    private OfferingMapper offeringMapper;
+
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        customerMapper = new CustomerMapperImpl(new AddressMapperImpl());
+        offeringMapper = new OfferingMapperImpl();
+        customer = Fixtures.customer(1, products);
+    }
+
+    @Benchmark
+    public CustomerDTO customerWithModelMapper() {
+        return modelMapper.map(customer, CustomerDTO.class);
+    }
+
+    @Benchmark
+    public CustomerDTO customerWithGeneratedMapper() {
+        return customerMapper.toCustomerDTO(customer);
+    }
+
+    @Benchmark
+    public OfferingDTO offeringWithModelMapper() {
+        return modelMapper.map(customer.getOffering(), OfferingDTO.class);
+    }
+
+    @Benchmark
+    public OfferingDTO offeringWithGeneratedMapper() {
+        return offeringMapper.toOfferingDTO(customer.getOffering());
+    }
+
+}
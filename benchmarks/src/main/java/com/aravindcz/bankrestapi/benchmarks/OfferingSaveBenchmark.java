@@ -0,0 +1,94 @@
+package com.aravindcz.bankrestapi.benchmarks;
+
+import com.aravindcz.bankrestapi.configurations.UserDetailsImplementation;
+import com.aravindcz.bankrestapi.models.dtos.LoanDTO;
+import com.aravindcz.bankrestapi.models.dtos.LockerDTO;
+import com.aravindcz.bankrestapi.models.dtos.OfferingDTO;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.aravindcz.bankrestapi.services.implementations.OfferingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OfferingSaveBenchmark - measures how many offerings per second OfferingService.save inserts against an embedded database when
+ * each offering carries the given number of loans and the same number of lockers , every invocation saves the offering of a
+ * fresh customer
+ * @author Aravind C
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OfferingSaveBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int children;
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionTemplate transactionTemplate;
+
+    private CustomerRepository customerRepository;
+
+    private OfferingService offeringService;
+
+    private long nextId = 1;
+
+    private long customerId;
+
+    private UserDetailsImplementation principal;
+
+    private OfferingDTO offeringDTO;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start();
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        customerRepository = context.getBean(CustomerRepository.class);
+        offeringService = context.getBean(OfferingService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void newCustomer() {
+        long id = nextId++;
+
+        Customer customer = Fixtures.customer(id, 0);
+        customer.setId(0);
+        customer.setOffering(null);
+        customer = customerRepository.save(customer);
+
+        customerId = customer.getId();
+        principal = EmbeddedApplication.customerPrincipal(customer.getEmail(), customerId);
+
+        List<LoanDTO> loans = new ArrayList<>(children);
+        List<LockerDTO> lockers = new ArrayList<>(children);
+
+        for(int i = 0; i < children; i++) {
+            loans.add(new LoanDTO(Fixtures.productNumber(id, i), customerId, 10_000 + i));
+            lockers.add(new LockerDTO(Fixtures.productNumber(id, i), 9000 + id, 77));
+        }
+
+        offeringDTO = new OfferingDTO(lockers, loans);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity save() {
+        return EmbeddedApplication.inRequest(transactionTemplate, principal, () -> offeringService.save(customerId, offeringDTO));
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.aravindcz.bankrestapi.benchmarks;
+
+import com.aravindcz.bankrestapi.models.dtos.CustomerDTO;
+import com.aravindcz.bankrestapi.models.dtos.ResponseDTO;
+import com.aravindcz.bankrestapi.models.dtos.StreamingResponseDTO;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.models.mappers.AddressMapperImpl;
+import com.aravindcz.bankrestapi.models.mappers.CustomerMapper;
+import com.aravindcz.bankrestapi.models.mappers.CustomerMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * ResponseSerializationBenchmark - measures jackson serialization of the uniform response envelope returned by the list
+ * endpoints such as GET /api/v1/customers , an envelope around a list that is already mapped , the same list mapped first as the
+ * services used to do and the StreamingResponseDTO the services return now , which maps every customer while it is written
+ * @author Aravind C
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int customers;
+
+    private ObjectMapper objectMapper;
+
+    private CustomerMapper customerMapper;
+
+    private List<Customer> customerList;
+
+    private ResponseDTO responseDTO;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        customerMapper = new CustomerMapperImpl(new AddressMapperImpl());
+        customerList = LongStream.rangeClosed(1, customers)
+                .mapToObj(id -> Fixtures.customer(id, 0))
+                .collect(Collectors.toList());
+        List<CustomerDTO> customerDTOList = customerList.stream()
+                .map(customerMapper::toCustomerDTO)
+                .collect(Collectors.toList());
+
+        responseDTO = new ResponseDTO(true, 200, "Customer details successfully retrieved", customerDTOList);
+    }
+
+    @Benchmark
+    public byte[] listEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responseDTO);
+    }
+
+    @Benchmark
+    public byte[] mappedListEnvelope() throws JsonProcessingException {
+        List<CustomerDTO> customerDTOList = customerList.stream()
+                .map(customerMapper::toCustomerDTO)
+                .collect(Collectors.toList());
+
+        return objectMapper.writeValueAsBytes(new ResponseDTO(true, 200, "Customer details successfully retrieved", customerDTOList));
+    }
+
+    @Benchmark
+    public byte[] streamingEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new StreamingResponseDTO<>(200, "Customer details successfully retrieved", customerList,
+                customerMapper::toCustomerDTO));
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.aravindcz.bankrestapi.benchmarks;
+
+import com.aravindcz.bankrestapi.configurations.UserDetailsImplementation;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.aravindcz.bankrestapi.services.implementations.LoanService;
+import com.aravindcz.bankrestapi.services.implementations.LockerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ServiceBenchmark - measures the loan and locker service read paths , including the ownership checks , against an embedded
+ * database holding one customer with the given number of loans and lockers
+ * @author Aravind C
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({"10", "100"})
+    private int products;
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionTemplate transactionTemplate;
+
+    private LoanService loanService;
+
+    private LockerService lockerService;
+
+    private UserDetailsImplementation principal;
+
+    private long customerId;
+
+    private long loanNumber;
+
+    private long lockerNumber;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start();
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        loanService = context.getBean(LoanService.class);
+        lockerService = context.getBean(LockerService.class);
+
+        Customer customer = Fixtures.customer(1, products);
+        customer.setId(0);
+        customer = context.getBean(CustomerRepository.class).save(customer);
+
+        customerId = customer.getId();
+        loanNumber = Fixtures.productNumber(1, products / 2);
+        lockerNumber = Fixtures.productNumber(1, products / 2);
+        principal = EmbeddedApplication.customerPrincipal(customer.getEmail(), customerId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity loanFindAll() {
+        return EmbeddedApplication.inRequest(transactionTemplate, principal, () -> loanService.findAll(customerId, null));
+    }
+
+    @Benchmark
+    public ResponseEntity loanFindByNumber() {
+        return EmbeddedApplication.inRequest(transactionTemplate, principal, () -> loanService.findByNumber(customerId, loanNumber, null));
+    }
+
+    @Benchmark
+    public ResponseEntity lockerFindAll() {
+        return EmbeddedApplication.inRequest(transactionTemplate, principal, () -> lockerService.findAll(customerId, null));
+    }
+
+    @Benchmark
+    public ResponseEntity lockerFindByNumber() {
+        return EmbeddedApplication.inRequest(transactionTemplate, principal, () -> lockerService.findByNumber(customerId, lockerNumber, null));
+    }
+
+}
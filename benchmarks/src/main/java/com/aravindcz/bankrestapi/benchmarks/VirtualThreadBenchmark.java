@@ -0,0 +1,132 @@
+package com.aravindcz.bankrestapi.benchmarks;
+
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VirtualThreadBenchmark - measures the throughput of the loan and locker endpoints over http with many concurrent clients , with
+ * tomcat serving the requests on its platform worker threads or on virtual threads , the virtual mode needs a java 21 runtime and is
+ * only run by mvn exec:exec when the java-21 profile is active , which also prints the stack of every virtual thread pinned to its
+ * carrier so the blocking of the jdbc driver inside monitors shows up next to the scores , the number of clients can be changed
+ * with -t , for example -Djmh.args="VirtualThreadBenchmark -t 1000"
+ * @author Aravind C
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    private static final int PRODUCTS = 20;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private HttpRequest loanFindAll;
+
+    private HttpRequest loanFindByNumber;
+
+    private HttpRequest lockerFindAll;
+
+    private HttpRequest lockerFindByNumber;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        if(threads.equals("virtual") && Runtime.version().feature() < 21)
+            throw new IllegalStateException("The virtual mode needs a java 21 runtime , this one is " + Runtime.version()
+                    + " , run with -p threads=platform");
+
+        context = EmbeddedApplication.start("--execution.virtual-threads.enabled=" + threads.equals("virtual"));
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        Customer customer = Fixtures.customer(1, PRODUCTS);
+        customer.setId(0);
+        customer = context.getBean(CustomerRepository.class).save(customer);
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+        String accessToken = login(baseUrl, customer.getEmail(), customer.getPassword());
+        String offerings = baseUrl + "/customers/" + customer.getId() + "/offerings";
+        long number = Fixtures.productNumber(1, PRODUCTS / 2);
+
+        loanFindAll = get(offerings + "/loans", accessToken);
+        loanFindByNumber = get(offerings + "/loans/" + number, accessToken);
+        lockerFindAll = get(offerings + "/lockers", accessToken);
+        lockerFindByNumber = get(offerings + "/lockers/" + number, accessToken);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private String login(String baseUrl, String email, String password) throws IOException, InterruptedException {
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.createObjectNode()
+                        .put("email", email)
+                        .put("password", password)
+                        .toString()))
+                .build();
+
+        JsonNode response = objectMapper.readTree(httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        return response.path("data").path("accessToken").asText();
+    }
+
+    private static HttpRequest get(String url, String accessToken) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + accessToken)
+                .GET()
+                .build();
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+
+        if(status != 200)
+            throw new IllegalStateException("Unexpected status " + status + " from " + request.uri());
+
+        return status;
+    }
+
+    @Benchmark
+    public int loanFindAll() throws Exception {
+        return send(loanFindAll);
+    }
+
+    @Benchmark
+    public int loanFindByNumber() throws Exception {
+        return send(loanFindByNumber);
+    }
+
+    @Benchmark
+    public int lockerFindAll() throws Exception {
+        return send(lockerFindAll);
+    }
+
+    @Benchmark
+    public int lockerFindByNumber() throws Exception {
+        return send(lockerFindByNumber);
+    }
+
+}
@@ -1,21 +1,16 @@
 package com.aravindcz.bankrestapi;
 
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+//the connection pool of the reactive read api is built by ReactiveReadApiConfiguration , a ConnectionFactory bean made by spring
+//boot would switch off the jdbc data source and jpa
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @Slf4j
 public class BankRestapiApplication {
 
-
-	@Bean
-	public ModelMapper modelMapper(){
-		return new ModelMapper();
-	}
-
 	public static void main(String[] args) {
 
 		SpringApplication.run(BankRestapiApplication.class, args);
@@ -0,0 +1,61 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+
+/**
+ * AccessTokenHandlerFilter - authenticates the requests to the reactive read api with the bearer access tokens issued by
+ * AccessTokenService and checks the authority of the principal , the counterpart of AccessTokenAuthenticationFilter and the
+ * hasAuthority checks of the controllers , the principal is put in the request attributes for the handlers
+ * @author Aravind C
+ */
+@AllArgsConstructor
+public class AccessTokenHandlerFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final String PRINCIPAL_ATTRIBUTE = AccessTokenHandlerFilter.class.getName() + ".principal";
+
+    private AccessTokenService accessTokenService;
+
+    private String authority;
+
+    /**
+     * Method that returns the principal authenticated by this filter
+     * @param request - request to the reactive read api
+     * @return - user details of the principal that made the request , empty if it was not authenticated
+     */
+    public static Optional<UserDetailsImplementation> principal(ServerRequest request) {
+        return request.attribute(PRINCIPAL_ATTRIBUTE).map(UserDetailsImplementation.class::cast);
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+
+        String authorization = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+
+        UserDetailsImplementation userDetails = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? accessTokenService.verify(authorization.substring(BEARER_PREFIX.length())) : null;
+
+        if(userDetails == null)
+            return Mono.error(new AuthenticationCredentialsNotFoundException("Bearer access token required"));
+
+        request.attributes().put(PRINCIPAL_ATTRIBUTE, userDetails);
+
+        if(!authority.equals(userDetails.getRole()))
+            return Mono.error(new AccessDeniedException("Access is denied"));
+
+        return next.handle(request);
+    }
+
+}
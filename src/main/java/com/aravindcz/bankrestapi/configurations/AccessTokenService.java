@@ -0,0 +1,162 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+
+/**
+ * AccessTokenService - issues and verifies the short lived HMAC-SHA256 signed access tokens that carry the email , role and
+ * account id of the principal , verification does not touch the database , every instance has to be configured with the same secret
+ * of at least 32 bytes , only the dev and embedded profiles may leave it out and get a random one per instance
+ * @author Aravind C
+ */
+@Component
+public class AccessTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final char SEPARATOR = '\n';
+
+    //the key size of HMAC-SHA256 , a shorter secret weakens the signature
+    private static final int MINIMUM_SECRET_BYTES = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec secretKey;
+
+    private final Duration timeToLive;
+
+    private final Mac prototype;
+
+    public AccessTokenService(@Value("${security.access-token.secret}") String secret,
+                              @Value("${security.access-token.time-to-live}") Duration timeToLive,
+                              Environment environment) {
+
+        byte[] keyBytes;
+
+        if(secret == null || secret.isBlank()) {
+            //tokens signed with a random key stop working after a restart and on every other instance
+            if(!environment.acceptsProfiles(Profiles.of("dev", "embedded")))
+                throw new IllegalStateException("security.access-token.secret is not set , set ACCESS_TOKEN_SECRET to the secret shared "
+                        + "by every instance");
+
+            keyBytes = new byte[MINIMUM_SECRET_BYTES];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+
+            if(keyBytes.length < MINIMUM_SECRET_BYTES)
+                throw new IllegalStateException("security.access-token.secret has " + keyBytes.length + " bytes , HMAC-SHA256 needs at "
+                        + "least " + MINIMUM_SECRET_BYTES);
+        }
+
+        this.secretKey = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.timeToLive = timeToLive;
+        this.prototype = newMac();
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(secretKey);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //the initialised prototype is only ever cloned , a clone skips the provider lookup and the key setup and is cheap enough to
+    //be made per call so that nothing is kept per thread , which would be lost with every virtual thread
+    private Mac mac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            return newMac();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return mac().doFinal(payload);
+    }
+
+    /**
+     * Method that returns the number of seconds an issued token stays valid
+     * @return - token validity in seconds
+     */
+    public long getTimeToLiveSeconds() {
+        return timeToLive.getSeconds();
+    }
+
+    /**
+     * Method that issues a signed access token for an authenticated principal
+     * @param userDetails - principal resolved during login
+     * @return - signed access token
+     */
+    public String issue(UserDetailsImplementation userDetails) {
+
+        long expiresAt = Instant.now().plus(timeToLive).getEpochSecond();
+
+        String claims = userDetails.getUsername() + SEPARATOR + userDetails.getRole() + SEPARATOR + userDetails.getId()
+                + SEPARATOR + expiresAt;
+
+        byte[] payload = claims.getBytes(StandardCharsets.UTF_8);
+
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Method that verifies the signature and expiry of an access token and rebuilds the principal it carries
+     * @param token - access token supplied by the client
+     * @return - principal carried by the token or null if the token is malformed , tampered or expired
+     */
+    public UserDetailsImplementation verify(String token) {
+
+        int dot = token.indexOf('.');
+
+        if(dot <= 0 || dot != token.lastIndexOf('.'))
+            return null;
+
+        byte[] payload;
+        byte[] signature;
+
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        if(!MessageDigest.isEqual(sign(payload), signature))
+            return null;
+
+        String[] claims = new String(payload, StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR));
+
+        if(claims.length != 4)
+            return null;
+
+        try {
+            if(Long.parseLong(claims[3]) <= Instant.now().getEpochSecond())
+                return null;
+
+            return new UserDetailsImplementation(new UserDTO(claims[0], null, claims[1]), Long.parseLong(claims[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+
+/**
+ * Configuration class used to register the message converters of the binary cbor and smile encodings , their object mappers are
+ * built from the same spring.jackson settings and modules as the json one so the binary responses carry the same fields
+ * @author Aravind C
+ */
+@Configuration
+public class BinaryContentConfiguration {
+
+    /**
+     * Method that returns the message converter reading and writing application/cbor
+     * @param jackson2ObjectMapperBuilder - object mapper builder configured by spring boot , a new instance per injection point
+     * @return - MappingJackson2CborHttpMessageConverter.class instance
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(jackson2ObjectMapperBuilder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Method that returns the message converter reading and writing application/x-jackson-smile
+     * @param jackson2ObjectMapperBuilder - object mapper builder configured by spring boot , a new instance per injection point
+     * @return - MappingJackson2SmileHttpMessageConverter.class instance
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(jackson2ObjectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+}
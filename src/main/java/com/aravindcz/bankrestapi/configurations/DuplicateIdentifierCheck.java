@@ -0,0 +1,92 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DuplicateIdentifierCheck - flyway migration 1.0.1 , run on databases baselined at V1 before V1_1 and V2 add the unique email
+ * constraints and the unique number indexes , the emails and the loan and locker numbers were not unique on databases created by
+ * ddl-auto=create and the numbers are part of the urls the customers use , so duplicates are not changed here , the migration
+ * fails listing every conflicting row and an operator resolves them before starting the application again , it only reads and
+ * finds nothing on a database migrated from V1 , spring boot hands the bean to flyway
+ * @author Aravind C
+ */
+@Component
+public class DuplicateIdentifierCheck implements JavaMigration {
+
+    private static final String[][] IDENTIFIERS = {
+            {"customer", "email"},
+            {"employee", "email"},
+            {"loan", "number"},
+            {"locker", "number"}
+    };
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("1.0.1");
+    }
+
+    @Override
+    public String getDescription() {
+        return "duplicate identifier check";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+
+        List<String> duplicates = new ArrayList<>();
+
+        for(String[] identifier : IDENTIFIERS)
+            duplicates.addAll(findDuplicates(context.getConnection(), identifier[0], identifier[1]));
+
+        if(!duplicates.isEmpty())
+            throw new FlywayException("Rows sharing an identifier that has to be unique , resolve them and migrate again : "
+                    + String.join(" , ", duplicates));
+    }
+
+    private static List<String> findDuplicates(Connection connection, String table, String column) throws SQLException {
+
+        List<String> duplicates = new ArrayList<>();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select id, " + column + " from " + table + " where " + column
+                     + " in (select " + column + " from " + table + " group by " + column + " having count(*) > 1)"
+                     + " order by " + column + ", id")) {
+
+            while (resultSet.next())
+                duplicates.add(table + " id=" + resultSet.getLong(1) + " " + column + "=" + resultSet.getString(2));
+        }
+
+        return duplicates;
+    }
+
+}
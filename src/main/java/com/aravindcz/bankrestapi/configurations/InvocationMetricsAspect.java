@@ -0,0 +1,73 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * InvocationMetricsAspect - records the latency of every public controller and service method in the application.invocations timer ,
+ * tagged with the layer , class , method , state and exception so failed calls are counted apart , the repository calls are
+ * recorded by spring data in the spring.data.repository.invocations timer , which has no layer tag and names the repository
+ * interface in a repository tag instead of class , its method , state and exception tags match the ones here
+ * @author Aravind C
+ */
+@Aspect
+@Component
+public class InvocationMetricsAspect {
+
+    private static final String METRIC_NAME = "application.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    public InvocationMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.aravindcz.bankrestapi.controllers.implementations..*(..)) " +
+            "&& @within(org.springframework.web.bind.annotation.RestController)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "controller");
+    }
+
+    @Around("execution(public * com.aravindcz.bankrestapi.services.implementations..*(..)) " +
+            "&& @within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "service");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer) throws Throwable {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable throwable) {
+            stop(sample, joinPoint, layer, throwable);
+            throw throwable;
+        }
+
+        //non blocking methods are timed until the returned mono completes instead of until it is assembled
+        if(result instanceof Mono<?> mono)
+            return mono.doOnSuccess(value -> stop(sample, joinPoint, layer, null))
+                    .doOnError(throwable -> stop(sample, joinPoint, layer, throwable));
+
+        stop(sample, joinPoint, layer, null);
+        return result;
+    }
+
+    private void stop(Timer.Sample sample, ProceedingJoinPoint joinPoint, String layer, Throwable throwable) {
+        sample.stop(Timer.builder(METRIC_NAME)
+                .tag("layer", layer)
+                .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", joinPoint.getSignature().getName())
+                .tag("state", throwable == null ? "SUCCESS" : "ERROR")
+                .tag("exception", throwable == null ? "None" : throwable.getClass().getSimpleName())
+                .register(meterRegistry));
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+
+/**
+ * PrincipalCache - size bounded and time evicted cache of the user details resolved by UserDetailsServiceImplementation so that
+ * the stateless basic authentication does not hit the customer and employee tables on every request , hit , miss and eviction
+ * counts are published under the cache name principals
+ * @author Aravind C
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetailsImplementation> cache;
+
+    public PrincipalCache(@Value("${security.principal-cache.maximum-size}") long maximumSize,
+                          @Value("${security.principal-cache.time-to-live}") Duration timeToLive,
+                          MeterRegistry meterRegistry) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Method that returns the cached user details for the username if present and not expired
+     * @param username - email address of the customer or employee
+     * @return - cached user details or null on a miss
+     */
+    public UserDetailsImplementation get(String username) {
+        return cache.getIfPresent(username);
+    }
+
+    /**
+     * Method that caches the user details resolved from the database
+     * @param username - email address of the customer or employee
+     * @param userDetails - resolved user details
+     */
+    public void put(String username, UserDetailsImplementation userDetails) {
+        cache.put(username, userDetails);
+    }
+
+    /**
+     * Method that removes the cached user details , needs to be called whenever the principal is created , changed or removed
+     * @param username - email address of the customer or employee
+     */
+    public void invalidate(String username) {
+        if(username != null)
+            cache.invalidate(username);
+    }
+
+}
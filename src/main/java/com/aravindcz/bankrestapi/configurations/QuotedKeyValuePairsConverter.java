@@ -0,0 +1,36 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.List;
+
+/**
+ * QuotedKeyValuePairsConverter - logback conversion word registered as quotedKvp in logback-spring.xml , writes the key value pairs of
+ * the event like kvp does but escapes every value the way QuotedValueConverter does , values such as the principal come from the
+ * client and must not be able to close their quotes or start a new line
+ * @author Aravind C
+ */
+public class QuotedKeyValuePairsConverter extends ClassicConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+
+        List<KeyValuePair> keyValuePairs = event.getKeyValuePairs();
+
+        if(keyValuePairs == null || keyValuePairs.isEmpty())
+            return "";
+
+        StringBuilder out = new StringBuilder();
+
+        for(KeyValuePair keyValuePair : keyValuePairs) {
+            if(!out.isEmpty())
+                out.append(' ');
+            out.append(keyValuePair.key).append("=\"").append(QuotedValueConverter.escape(String.valueOf(keyValuePair.value))).append('"');
+        }
+
+        return out.toString();
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.pattern.CompositeConverter;
+
+/**
+ * QuotedValueConverter - logback conversion word registered as quoted in logback-spring.xml , escapes the backslashes , double quotes
+ * and line breaks of the text of its child pattern so the message and the stack trace stay inside their double quoted value and
+ * every event stays on a single key value line
+ * @author Aravind C
+ */
+public class QuotedValueConverter extends CompositeConverter<ILoggingEvent> {
+
+    @Override
+    protected String transform(ILoggingEvent event, String in) {
+        return escape(in);
+    }
+
+    /**
+     * Method that escapes a value written inside double quotes , also used by QuotedKeyValuePairsConverter
+     * @param in - value to escape
+     * @return - the value itself when nothing needs escaping
+     */
+    static String escape(String in) {
+
+        StringBuilder out = null;
+
+        for(int i = 0; i < in.length(); i++) {
+            char c = in.charAt(i);
+            String escaped = switch (c) {
+                case '\\' -> "\\\\";
+                case '"' -> "\\\"";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                default -> null;
+            };
+
+            //most messages have nothing to escape and are returned as they are
+            if(escaped == null) {
+                if(out != null)
+                    out.append(c);
+                continue;
+            }
+
+            if(out == null)
+                out = new StringBuilder(in.length() + 16).append(in, 0, i);
+            out.append(escaped);
+        }
+
+        return out == null ? in : out.toString();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.aravindcz.bankrestapi.controllers.implementations.ReactiveOfferingController;
+import com.aravindcz.bankrestapi.exceptions.ReactiveExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+
+/**
+ * Configuration class used to declare the routes of the reactive read api , the non blocking counterpart of the loan and locker
+ * reads of LoanController and LockerController , the server they are served on and the r2dbc connection pool they read through ,
+ * nothing of the reactive read api is created unless reactive.server.enabled is set
+ * @author Aravind C
+ */
+@Configuration
+@ConditionalOnProperty(name = "reactive.server.enabled", havingValue = "true")
+public class ReactiveReadApiConfiguration {
+
+    /**
+     * Method that returns the r2dbc connection pool of the reactive read api
+     * @param url - r2dbc url of the database
+     * @param username - database user
+     * @param password - database password , may be empty
+     * @param initialSize - number of connections opened up front
+     * @param maxSize - maximum number of connections
+     * @return - ReactiveReadConnections.class instance
+     */
+    @Bean
+    public ReactiveReadConnections reactiveReadConnections(@Value("${reactive.r2dbc.url}") String url,
+                                                           @Value("${reactive.r2dbc.username}") String username,
+                                                           @Value("${reactive.r2dbc.password:}") String password,
+                                                           @Value("${reactive.r2dbc.pool.initial-size}") int initialSize,
+                                                           @Value("${reactive.r2dbc.pool.max-size}") int maxSize) {
+        return new ReactiveReadConnections(url, username, password, initialSize, maxSize);
+    }
+
+    /**
+     * Method that returns the routes of the reactive read api , every route needs a bearer access token of a customer
+     * @param reactiveOfferingController - handler functions of the routes
+     * @param reactiveExceptionHandler - handler turning errors into responses in the uniform response format
+     * @param accessTokenService - service used to verify bearer access tokens
+     * @return - RouterFunction.class instance
+     */
+    @Bean
+    public RouterFunction<ServerResponse> reactiveReadRoutes(ReactiveOfferingController reactiveOfferingController,
+                                                             ReactiveExceptionHandler reactiveExceptionHandler,
+                                                             AccessTokenService accessTokenService) {
+
+        return RouterFunctions.route()
+                .path("/api/v1/customers/{customerId:[0-9]+}/offerings", builder -> builder
+                        .GET("/loans", reactiveOfferingController::findAllLoans)
+                        .GET("/loans/{number:[0-9]+}", reactiveOfferingController::findLoanByNumber)
+                        .GET("/lockers", reactiveOfferingController::findAllLockers)
+                        .GET("/lockers/{number:[0-9]+}", reactiveOfferingController::findLockerByNumber))
+                .filter(new AccessTokenHandlerFilter(accessTokenService, "ROLE_CUSTOMER"))
+                .build()
+                //the onError handlers of the builder are always put inside its filters , the errors are handled around the built
+                //routes instead so that the authentication and authorization failures of the filter get their responses too , the
+                //handling is deferred so that an exception thrown while a handler builds its publisher gets its response as well
+                .filter((request, next) -> Mono.defer(() -> next.handle(request))
+                        .onErrorResume(throwable -> reactiveExceptionHandler.handle(throwable, request)));
+    }
+
+    /**
+     * Method that returns the server of the reactive read api
+     * @param reactiveReadRoutes - routes of the reactive read api
+     * @param objectMapper - object mapper of the application
+     * @param address - address the server listens on
+     * @param port - port the server listens on , 0 for a random port
+     * @return - ReactiveReadServer.class instance
+     */
+    @Bean
+    public ReactiveReadServer reactiveReadServer(RouterFunction<ServerResponse> reactiveReadRoutes, ObjectMapper objectMapper,
+                                                 @Value("${reactive.server.address}") String address,
+                                                 @Value("${reactive.server.port}") int port) {
+        return new ReactiveReadServer(reactiveReadRoutes, objectMapper, address, port);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * ReactiveReadConnections - r2dbc connection pool of the reactive read api built from the reactive.r2dbc properties , it is not
+ * declared as a ConnectionFactory bean since spring boot leaves out the jdbc data source , and with it jpa , when one exists
+ * @author Aravind C
+ */
+public class ReactiveReadConnections implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public ReactiveReadConnections(String url, String username, String password, int initialSize, int maxSize) {
+
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username);
+
+        if(password != null && !password.isEmpty())
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+    }
+
+    /**
+     * Method that returns the pooled connection factory the reactive repositories read through
+     * @return - ConnectionFactory.class instance
+     */
+    public ConnectionFactory connectionFactory() {
+        return connectionPool;
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+
+/**
+ * ReactiveReadServer - reactor netty server of the reactive read api , it runs next to the servlet container on a port of its own
+ * and serves every request on the netty event loop threads so an open connection does not hold a thread while it waits on the
+ * database , it is started after the servlet container and stopped before it
+ * @author Aravind C
+ */
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private final RouterFunction<ServerResponse> routerFunction;
+
+    private final ObjectMapper objectMapper;
+
+    private final String address;
+
+    private final int port;
+
+    private volatile DisposableServer disposableServer;
+
+    public ReactiveReadServer(RouterFunction<ServerResponse> routerFunction, ObjectMapper objectMapper, String address, int port) {
+        this.routerFunction = routerFunction;
+        this.objectMapper = objectMapper;
+        this.address = address;
+        this.port = port;
+    }
+
+    /**
+     * Method that returns the port the server listens on , needed when it was started on a random port
+     * @return - bound port
+     */
+    public int getPort() {
+        return disposableServer.port();
+    }
+
+    @Override
+    public void start() {
+
+        //responses are written with the object mapper of the application so they match the ones of the servlet stack
+        HandlerStrategies handlerStrategies = HandlerStrategies.builder()
+                .codecs(codecConfigurer -> {
+                    codecConfigurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecConfigurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        disposableServer = HttpServer.create()
+                .host(address)
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routerFunction, handlerStrategies)))
+                .bindNow();
+    }
+
+    @Override
+    public void stop() {
+        disposableServer.disposeNow();
+        disposableServer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return disposableServer != null;
+    }
+
+}
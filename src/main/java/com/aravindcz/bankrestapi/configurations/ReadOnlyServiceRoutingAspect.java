@@ -0,0 +1,38 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * ReadOnlyServiceRoutingAspect - asks for the read replica around the @Transactional(readOnly = true) service methods , the read
+ * only transactions spring data opens on its own for single repository calls are left on the primary , it runs right after the
+ * interceptor spring puts first to expose the invocation , the @annotation binding of the advice needs it , and before the
+ * transaction interceptor so the connection is routed when the transaction starts
+ * @author Aravind C
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ReadOnlyServiceRoutingAspect {
+
+    @Around("within(com.aravindcz.bankrestapi.services..*) && @annotation(transactional)")
+    public Object route(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+
+        if(!transactional.readOnly())
+            return joinPoint.proceed();
+
+        Boolean previous = ReplicaRouting.enter();
+
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRouting.exit(previous);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration class used to split the connections between the primary database and a read replica , it is only active when
+ * datasource.replica.jdbc-url is set , otherwise the single data source configured by spring boot is used for everything
+ * @author Aravind C
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replica.jdbc-url")
+public class ReadReplicaRoutingConfiguration {
+
+    /**
+     * Method that returns the connection pool of the primary database configured through the spring.datasource properties
+     * @param dataSourceProperties - spring.datasource properties
+     * @return - HikariDataSource.class instance
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Method that returns the connection pool of the read replica configured through the datasource.replica properties
+     * @return - HikariDataSource.class instance
+     */
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Method that returns the monitor deciding whether the replica is within the allowed lag
+     * @param replicaDataSource - replica connection pool
+     * @return - ReplicaLagMonitor.class instance
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${datasource.replica-lag.query}") String lagQuery,
+                                               @Value("${datasource.replica-lag.maximum}") Duration maximumLag,
+                                               @Value("${datasource.replica-lag.check-interval}") Duration checkInterval) {
+        return new ReplicaLagMonitor(replicaDataSource, lagQuery, maximumLag, checkInterval);
+    }
+
+    /**
+     * Method that returns the data source used by jpa , flyway and everything else
+     * @param primaryDataSource - primary connection pool
+     * @param replicaDataSource - replica connection pool
+     * @param replicaLagMonitor - replica lag monitor
+     * @return - routing data source behind a lazy connection proxy
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(replicaLagMonitor);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadReplicaRoutingDataSource.PRIMARY, primaryDataSource,
+                ReadReplicaRoutingDataSource.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        //the transaction manager asks for a connection before it marks the transaction read only
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Method that returns the hibernate vendor adapter set up from the spring.jpa properties the way spring boot does , with a
+     * dialect that keeps the replica reads out of the second level cache
+     * @param jpaProperties - spring.jpa properties
+     * @return - HibernateJpaVendorAdapter.class instance
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties jpaProperties) {
+
+        HibernateJpaDialect jpaDialect = new ReplicaCacheModeJpaDialect();
+        HibernateJpaVendorAdapter jpaVendorAdapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return jpaDialect;
+            }
+        };
+
+        jpaVendorAdapter.setShowSql(jpaProperties.isShowSql());
+        if(jpaProperties.getDatabase() != null)
+            jpaVendorAdapter.setDatabase(jpaProperties.getDatabase());
+        if(jpaProperties.getDatabasePlatform() != null)
+            jpaVendorAdapter.setDatabasePlatform(jpaProperties.getDatabasePlatform());
+        jpaVendorAdapter.setGenerateDdl(jpaProperties.isGenerateDdl());
+
+        return jpaVendorAdapter;
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import lombok.AllArgsConstructor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * ReadReplicaRoutingDataSource - hands out replica connections to read only transactions that asked for the replica through
+ * ReplicaRouting while the replica is within the allowed lag , every other connection comes from the primary , needs to be
+ * wrapped in a LazyConnectionDataSourceProxy so the connection is only picked once the transaction is marked read only
+ * @author Aravind C
+ */
+@AllArgsConstructor
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    public static final String REPLICA = "replica";
+
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        if(ReplicaRouting.isRequested()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaLagMonitor.isReplicaUsable())
+            return REPLICA;
+
+        return PRIMARY;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * ReplicaCacheModeJpaDialect - keeps the rows read from the replica out of the second level cache , the read only transactions
+ * that asked for the replica only read the entity regions and the query cache and never put into them , so a row of a lagging
+ * replica can not be served later to the primary reads and the writes , the previous cache mode is restored when the
+ * transaction ends since the session may outlive it
+ * @author Aravind C
+ */
+public class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+
+        Object transactionData = super.beginTransaction(entityManager, definition);
+
+        if(!definition.isReadOnly() || !ReplicaRouting.isRequested())
+            return transactionData;
+
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+
+        return new ReplicaTransactionData(transactionData, session, previousCacheMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+
+        if(!(transactionData instanceof ReplicaTransactionData replicaTransactionData)) {
+            super.cleanupTransaction(transactionData);
+            return;
+        }
+
+        try {
+            super.cleanupTransaction(replicaTransactionData.transactionData());
+        } finally {
+            replicaTransactionData.session().setCacheMode(replicaTransactionData.previousCacheMode());
+        }
+    }
+
+    private record ReplicaTransactionData(Object transactionData, Session session, CacheMode previousCacheMode) {
+    }
+
+}
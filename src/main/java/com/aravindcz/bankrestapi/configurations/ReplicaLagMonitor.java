@@ -0,0 +1,71 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ReplicaLagMonitor - decides whether the read replica is close enough to the primary to serve reads , the lag query returns the
+ * replication lag in seconds and is run on the replica at most once per check interval by a single caller while the other
+ * callers use the last result , a failing query or a null lag counts as a replica that cannot be used
+ * @author Aravind C
+ */
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String lagQuery;
+
+    private final long maximumLagSeconds;
+
+    private final long checkIntervalNanos;
+
+    private final AtomicBoolean checking = new AtomicBoolean();
+
+    private volatile boolean replicaUsable = true;
+
+    private volatile long nextCheck = System.nanoTime();
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, Duration maximumLag, Duration checkInterval) {
+        this.jdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.lagQuery = lagQuery;
+        this.maximumLagSeconds = maximumLag.getSeconds();
+        this.checkIntervalNanos = checkInterval.toNanos();
+    }
+
+    /**
+     * Method that checks whether reads can be sent to the replica , without a lag query the replica is always used
+     * @return - true if the replica lag was within the maximum lag on the last check
+     */
+    public boolean isReplicaUsable() {
+
+        if(lagQuery == null || lagQuery.isBlank())
+            return true;
+
+        long now = System.nanoTime();
+
+        if(now - nextCheck >= 0 && checking.compareAndSet(false, true)) {
+            try {
+                replicaUsable = isLagWithinLimit();
+            } finally {
+                nextCheck = now + checkIntervalNanos;
+                checking.set(false);
+            }
+        }
+
+        return replicaUsable;
+    }
+
+    private boolean isLagWithinLimit() {
+        try {
+            Long lagSeconds = jdbcTemplate.queryForObject(lagQuery, Long.class);
+            return lagSeconds != null && lagSeconds <= maximumLagSeconds;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.aravindcz.bankrestapi.configurations;
+
+/**
+ * ReplicaRouting - marks the current thread as asking for the read replica , ReadReplicaRoutingDataSource only honours the mark
+ * inside a read only transaction so a write started further down the call still goes to the primary
+ * @author Aravind C
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Method that checks whether the current thread asked for the read replica
+     * @return - true between enter and exit
+     */
+    public static boolean isRequested() {
+        return Boolean.TRUE.equals(REQUESTED.get());
+    }
+
+    /**
+     * Method that asks for the read replica on the current thread , needs to be paired with exit in a finally block
+     * @return - previous state to be passed to exit
+     */
+    public static Boolean enter() {
+        Boolean previous = REQUESTED.get();
+        REQUESTED.set(Boolean.TRUE);
+        return previous;
+    }
+
+    /**
+     * Method that restores the state the current thread had before enter
+     * @param previous - value returned by enter
+     */
+    public static void exit(Boolean previous) {
+        if(previous == null)
+            REQUESTED.remove();
+        else
+            REQUESTED.set(previous);
+    }
+
+}
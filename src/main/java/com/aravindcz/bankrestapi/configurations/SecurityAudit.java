@@ -0,0 +1,87 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+/**
+ * SecurityAudit - writes the security audit trail to the AUDIT logger as key value events , one event per failed authentication or
+ * denied request , the AUDIT logger goes through an asynchronous appender with a bounded queue configured in logback-spring.xml so
+ * request threads never wait on the audit output
+ * @author Aravind C
+ */
+@Slf4j(topic = "AUDIT")
+@Component
+public class SecurityAudit {
+
+    /**
+     * Method that records a request refused because the principal is not allowed to perform it or its credentials are wrong
+     * @param request - request that was refused
+     * @param event - name of the refusal
+     * @param httpStatus - status the request was answered with
+     */
+    public void denied(HttpServletRequest request, String event, HttpStatus httpStatus) {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        log.atInfo()
+                .addKeyValue("event",event)
+                .addKeyValue("status",httpStatus.value())
+                .addKeyValue("principal",authentication == null ? "anonymous" : authentication.getName())
+                .addKeyValue("method",request.getMethod())
+                .addKeyValue("uri",request.getRequestURI())
+                .addKeyValue("remote",request.getRemoteAddr())
+                .log("Request denied");
+    }
+
+    /**
+     * Method that records a request to the reactive read api refused because the principal is not allowed to perform it
+     * @param request - request that was refused
+     * @param principal - principal that made the request , null when the request was not authenticated
+     * @param event - name of the refusal
+     * @param httpStatus - status the request was answered with
+     */
+    public void denied(ServerRequest request, UserDetailsImplementation principal, String event, HttpStatus httpStatus) {
+
+        log.atInfo()
+                .addKeyValue("event",event)
+                .addKeyValue("status",httpStatus.value())
+                .addKeyValue("principal",principal == null ? "anonymous" : principal.getUsername())
+                .addKeyValue("method",request.method().name())
+                .addKeyValue("uri",request.path())
+                .addKeyValue("remote",request.remoteAddress().map(address -> address.getAddress().getHostAddress()).orElse(null))
+                .log("Request denied");
+    }
+
+    /**
+     * Method that records the failed http basic authentications published by spring security
+     * @param failureEvent - authentication failure event
+     */
+    @EventListener
+    public void onAuthenticationFailure(AbstractAuthenticationFailureEvent failureEvent) {
+
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        HttpServletRequest request = requestAttributes instanceof ServletRequestAttributes servletRequestAttributes
+                ? servletRequestAttributes.getRequest() : null;
+
+        log.atInfo()
+                .addKeyValue("event","authentication_failed")
+                .addKeyValue("status",HttpStatus.UNAUTHORIZED.value())
+                .addKeyValue("principal",failureEvent.getAuthentication().getName())
+                .addKeyValue("reason",failureEvent.getException().getClass().getSimpleName())
+                .addKeyValue("method",request == null ? null : request.getMethod())
+                .addKeyValue("uri",request == null ? null : request.getRequestURI())
+                .addKeyValue("remote",request == null ? null : request.getRemoteAddr())
+                .log("Authentication failed");
+    }
+
+}
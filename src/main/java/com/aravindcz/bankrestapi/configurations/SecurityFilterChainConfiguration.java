@@ -1,11 +1,14 @@
 package com.aravindcz.bankrestapi.configurations;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cglib.proxy.NoOp;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -19,29 +22,46 @@ import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 
 /**
  * Configuration class used to make a custom security filter chain and mention the password encoder that needs to be used
- * for basic authentication
+ * for basic authentication , bearer access tokens are always accepted and basic authentication can be switched off with
+ * security.http-basic.enabled
  * @author Aravind C
  */
 @Configuration
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 public class SecurityFilterChainConfiguration  {
 
+    @Value("${security.http-basic.enabled}")
+    private boolean httpBasicEnabled;
+
     /**
      * Method that returns http security object with custom security filter chain
      * @param httpSecurity - HttpSecurity.class instance
+     * @param accessTokenService - service used to verify bearer access tokens
      * @return - SecurityFilterChain.class instance
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity, AccessTokenService accessTokenService) throws Exception {
+
+        if(httpBasicEnabled)
+            httpSecurity.httpBasic();
+        else
+            httpSecurity.exceptionHandling().authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED));
+
         return httpSecurity.csrf().disable()
-                .httpBasic().and()
+                .addFilterBefore(new AccessTokenAuthenticationFilter(accessTokenService), BasicAuthenticationFilter.class)
                 .authorizeHttpRequests()
-                .requestMatchers("/api/v1/customers/register","/api/v1/employees/register").permitAll()
+                //streamed responses complete on an async dispatch of a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .requestMatchers("/api/v1/customers/register","/api/v1/employees/register","/api/v1/auth/login").permitAll()
+                //the management port only listens on the loopback interface so the scraper does not need credentials
+                .requestMatchers(EndpointRequest.to("health","prometheus")).permitAll()
                 .anyRequest().authenticated().and()
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS).and()
                 .build();
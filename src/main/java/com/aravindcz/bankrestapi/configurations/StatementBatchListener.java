@@ -0,0 +1,18 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * StatementBatchListener - hibernate session event listener registered through hibernate.session.events.auto , it tells the
+ * statement budget of the current request when a jdbc batch is sent so that only a write prepared again for the following batch
+ * raises the budget
+ * @author Aravind C
+ */
+public class StatementBatchListener extends BaseSessionEventListener {
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        StatementBudget.onBatch();
+    }
+
+}
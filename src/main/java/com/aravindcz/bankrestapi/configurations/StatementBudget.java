@@ -0,0 +1,101 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.aravindcz.bankrestapi.exceptions.StatementBudgetExceededException;
+
+import java.util.regex.Pattern;
+
+/**
+ * StatementBudget - counts the sql statements prepared by hibernate on the current thread while a request is being served , the
+ * count is started and read by StatementBudgetFilter and increased by StatementCountingInspector , a write that repeats the write
+ * prepared just before it after StatementBatchListener saw that write sent as a jdbc batch is the next batch of the same rows and
+ * raises the budget by one , so the bulk endpoints are held to the same budget per batch as the others while a select or a write
+ * repeated once per row without batching still goes over it
+ * @author Aravind C
+ */
+public final class StatementBudget {
+
+    private static final ThreadLocal<StatementBudget> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern WRITE = Pattern.compile("^\\s*(insert|update|delete)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final int maximum;
+
+    private final boolean reject;
+
+    private int allowance;
+
+    private int count;
+
+    private String previousSql;
+
+    private boolean batchExecuted;
+
+    private StatementBudget(int maximum, boolean reject) {
+        this.maximum = maximum;
+        this.reject = reject;
+    }
+
+    /**
+     * Method that starts counting the statements of the current thread
+     * @param maximum - number of statements allowed
+     * @param reject - true if the statement going over the budget should fail instead of only being reported afterwards
+     * @return - budget of the current thread , needs to be passed to stop
+     */
+    public static StatementBudget start(int maximum, boolean reject) {
+        StatementBudget budget = new StatementBudget(maximum, reject);
+        CURRENT.set(budget);
+        return budget;
+    }
+
+    /**
+     * Method that stops counting the statements of the current thread
+     * @param budget - budget returned by start
+     * @return - number of statements prepared since start
+     */
+    public static int stop(StatementBudget budget) {
+        CURRENT.remove();
+        return budget.count;
+    }
+
+    /**
+     * Method that returns the number of statements the request was allowed , the maximum plus the statements allowed for its batches
+     * @param budget - budget returned by start
+     * @return - number of statements allowed
+     */
+    public static int allowed(StatementBudget budget) {
+        return budget.maximum + budget.allowance;
+    }
+
+    /**
+     * Method called for every statement prepared , statements prepared outside of a request are not counted , hibernate prepares
+     * the statement of a jdbc batch once and again for every following batch of the same rows
+     * @param sql - sql of the statement
+     * @throws StatementBudgetExceededException - if the budget rejects the statements over its maximum
+     */
+    static void onStatement(String sql) {
+        StatementBudget budget = CURRENT.get();
+
+        if(budget == null)
+            return;
+
+        if(budget.batchExecuted && sql.equals(budget.previousSql) && WRITE.matcher(sql).find())
+            budget.allowance++;
+
+        budget.previousSql = sql;
+        budget.batchExecuted = false;
+
+        if(++budget.count > allowed(budget) && budget.reject)
+            throw new StatementBudgetExceededException(allowed(budget), sql);
+    }
+
+    /**
+     * Method called when hibernate sends a jdbc batch , the statement prepared last was the one of the batch
+     */
+    static void onBatch() {
+        StatementBudget budget = CURRENT.get();
+
+        if(budget != null)
+            budget.batchExecuted = true;
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * StatementBudgetFilter - counts the sql statements each request prepares , including the ones made while authenticating , and
+ * logs the requests going over the budget set in sql.statement-budget.maximum , with sql.statement-budget.mode=reject the statement
+ * going over the budget fails the request instead , the requests writing rows in several jdbc batches are allowed one more statement
+ * per following batch
+ * @author Aravind C
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final int maximum;
+
+    private final boolean reject;
+
+    private final StatementBudgetReport statementBudgetReport;
+
+    public StatementBudgetFilter(@Value("${sql.statement-budget.maximum}") int maximum,
+                                 @Value("${sql.statement-budget.mode}") String mode,
+                                 StatementBudgetReport statementBudgetReport) {
+        this.maximum = maximum;
+        this.reject = "reject".equalsIgnoreCase(mode);
+        this.statementBudgetReport = statementBudgetReport;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        StatementBudget budget = StatementBudget.start(maximum, reject);
+        int statements;
+        int allowed;
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            allowed = StatementBudget.allowed(budget);
+            statements = StatementBudget.stop(budget);
+        }
+
+        String endpoint = endpoint(request);
+
+        if(statements > allowed)
+            log.warn("{} prepared {} sql statements , the budget is {}", endpoint, statements, allowed);
+
+        statementBudgetReport.record(endpoint, statements);
+    }
+
+    //the handler pattern keeps the ids out of the name so all the requests of an endpoint are reported together
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "unmapped");
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * StatementBudgetReport - keeps the number of sql statements prepared by the requests of each endpoint when
+ * sql.statement-budget.report is enabled , the endpoints preparing the most statements are logged when the application stops
+ * @author Aravind C
+ */
+@Slf4j
+@Component
+public class StatementBudgetReport {
+
+    private static final int REPORTED_ENDPOINTS = 10;
+
+    private final boolean enabled;
+
+    private final Map<String, EndpointStatements> endpoints = new ConcurrentHashMap<>();
+
+    public StatementBudgetReport(@Value("${sql.statement-budget.report}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * EndpointStatements - statement counts of the requests made to one endpoint
+     * @param requests - number of requests
+     * @param maximum - largest number of statements prepared by a request
+     * @param last - number of statements prepared by the latest request
+     */
+    public record EndpointStatements(long requests, int maximum, int last) {
+
+        private EndpointStatements add(int statements) {
+            return new EndpointStatements(requests + 1, Math.max(maximum, statements), statements);
+        }
+    }
+
+    /**
+     * Method that records the number of statements prepared by a request
+     * @param endpoint - http method and handler pattern of the request
+     * @param statements - number of statements prepared
+     */
+    public void record(String endpoint, int statements) {
+        if(enabled)
+            endpoints.merge(endpoint, new EndpointStatements(1, statements, statements),
+                    (current, ignored) -> current.add(statements));
+    }
+
+    /**
+     * Method that returns the statement counts of an endpoint
+     * @param endpoint - http method and handler pattern , for example GET /api/v1/customers/{id}
+     * @return - statement counts or null if the endpoint was not requested or the report is disabled
+     */
+    public EndpointStatements get(String endpoint) {
+        return endpoints.get(endpoint);
+    }
+
+    @PreDestroy
+    public void logWorstEndpoints() {
+        if(endpoints.isEmpty())
+            return;
+
+        StringBuilder report = new StringBuilder("Endpoints preparing the most sql statements per request :");
+
+        endpoints.entrySet().stream()
+                .sorted(Map.Entry.<String, EndpointStatements>comparingByValue(
+                        Comparator.comparingInt(EndpointStatements::maximum)).reversed())
+                .limit(REPORTED_ENDPOINTS)
+                .forEach(entry -> report.append(System.lineSeparator())
+                        .append(entry.getValue().maximum()).append(" statements at most over ")
+                        .append(entry.getValue().requests()).append(" requests - ").append(entry.getKey()));
+
+        log.info(report.toString());
+    }
+
+}
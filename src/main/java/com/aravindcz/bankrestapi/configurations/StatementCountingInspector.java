@@ -0,0 +1,25 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.regex.Pattern;
+
+/**
+ * StatementCountingInspector - hibernate statement inspector registered through hibernate.session_factory.statement_inspector , it
+ * leaves the sql as it is and counts the statement against the budget of the current request , the id fetches of the sequence
+ * generators are left out since their number only depends on how many rows are inserted and the allocation size
+ * @author Aravind C
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    //h2 sequences , mysql table based sequences
+    private static final Pattern IDENTIFIER_FETCH = Pattern.compile("next value for|nextval|next_val", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public String inspect(String sql) {
+        if(!IDENTIFIER_FETCH.matcher(sql).find())
+            StatementBudget.onStatement(sql);
+        return sql;
+    }
+
+}
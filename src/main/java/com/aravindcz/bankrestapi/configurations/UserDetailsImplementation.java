@@ -18,11 +18,29 @@ public class UserDetailsImplementation implements UserDetails {
 
     private UserDTO userDTO;
 
+    private long id;
+
     //private BCryptPasswordEncoder bCryptPasswordEncoder;
 
 
 
 
+    /**
+     * Method that returns the id of the customer or employee account behind this principal
+     * @return - customer id or employee id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Method that returns the role of the principal
+     * @return - role such as ROLE_CUSTOMER or ROLE_EMPLOYEE
+     */
+    public String getRole() {
+        return userDTO.getRole();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(()->userDTO.getRole());
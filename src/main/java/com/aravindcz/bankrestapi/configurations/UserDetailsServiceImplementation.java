@@ -9,7 +9,7 @@ import com.aravindcz.bankrestapi.repositories.interfaces.EmployeeRepository;
 import lombok.AllArgsConstructor;
 
 
-import org.modelmapper.ModelMapper;
+import com.aravindcz.bankrestapi.models.mappers.UserMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -33,12 +33,15 @@ public class UserDetailsServiceImplementation implements UserDetailsService {
     EmployeeRepository employeeRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    private UserMapper userMapper;
+
+    @Autowired
+    PrincipalCache principalCache;
 
 
     private UserDTO convertEmployeeToUserDTO(Employee employee){
 
-        UserDTO userDTO = modelMapper.map(employee, UserDTO.class);
+        UserDTO userDTO = userMapper.toUserDTO(employee);
 
         return userDTO;
 
@@ -46,14 +49,15 @@ public class UserDetailsServiceImplementation implements UserDetailsService {
 
     private UserDTO convertCustomerToUserDTO(Customer customer){
 
-        UserDTO userDTO = modelMapper.map(customer, UserDTO.class);
+        UserDTO userDTO = userMapper.toUserDTO(customer);
 
         return userDTO;
 
     }
 
     /**
-     * Method that returns the user details object that needs to be compared with user provided credentials for authentication
+     * Method that returns the user details object that needs to be compared with user provided credentials for authentication ,
+     * served from the principal cache when the user was resolved recently
      * @param username - username provided by the user during authentication
      * @return - user details that need to be compared with user provided credentials
      * @throws UsernameNotFoundException - when the credentials are incorrect
@@ -61,19 +65,29 @@ public class UserDetailsServiceImplementation implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
+        UserDetailsImplementation cachedUserDetails = principalCache.get(username);
+
+        if(cachedUserDetails != null)
+            return cachedUserDetails;
+
+        UserDetailsImplementation userDetails;
 
-        Optional<Customer> optionalCustomer = customerRepository.findByEmail(username);
         Optional<Employee> optionalEmployee = employeeRepository.findByEmail(username);
 
         if(optionalEmployee.isPresent()){
-            return new UserDetailsImplementation(convertEmployeeToUserDTO(optionalEmployee.get()));
-        }
+            userDetails = new UserDetailsImplementation(convertEmployeeToUserDTO(optionalEmployee.get()),optionalEmployee.get().getId());
+        } else {
+            Optional<Customer> optionalCustomer = customerRepository.findByEmail(username);
+
+            if(!optionalCustomer.isPresent())
+                throw new UsernameNotFoundException("No account exists with this username");
 
-        if(optionalCustomer.isPresent()){
-            return new UserDetailsImplementation(convertCustomerToUserDTO(optionalCustomer.get()));
+            userDetails = new UserDetailsImplementation(convertCustomerToUserDTO(optionalCustomer.get()),optionalCustomer.get().getId());
         }
 
-        throw new UsernameNotFoundException("No account exists with this username");
+        principalCache.put(username, userDetails);
+
+        return userDetails;
 
 
     }
@@ -0,0 +1,71 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * VirtualThreadConfiguration - opt in execution mode enabled with execution.virtual-threads.enabled=true , tomcat serves every
+ * request on a virtual thread of its own and the streamed responses are written on virtual threads as well , so a request blocked on
+ * jdbc no longer holds one of a fixed number of worker threads and the connection pool becomes the limit instead , needs a java 21
+ * runtime , the executor is looked up reflectively as the application is still compiled for java 17 , mysql connector/j 8.0 and
+ * hikaricp block inside synchronized blocks on the jdbc path , which pins the carrier thread of a virtual thread for the whole
+ * statement , so the number of tasks running at once is capped by execution.virtual-threads.max-concurrency and the mode is not
+ * expected to serve more than the platform worker threads until the driver stops blocking inside monitors
+ * @author Aravind C
+ */
+@Configuration
+@ConditionalOnProperty(name = "execution.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    /**
+     * Method that returns the executor starting a virtual thread per task , it replaces the thread pool spring boot creates for the
+     * asynchronous request processing , a task over the maximum concurrency parks its virtual thread until another task finishes ,
+     * which unlike blocking in a monitor releases the carrier thread
+     * @param maximumConcurrency - number of tasks allowed to run at once
+     * @return - AsyncTaskExecutor.class instance
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(@Value("${execution.virtual-threads.max-concurrency}") int maximumConcurrency) {
+
+        ExecutorService executorService;
+
+        try {
+            executorService = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need a java 21 runtime , set execution.virtual-threads.enabled=false", e);
+        }
+
+        Semaphore permits = new Semaphore(maximumConcurrency);
+
+        return new TaskExecutorAdapter(task -> executorService.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        }));
+    }
+
+    /**
+     * Method that makes tomcat run the requests on the virtual thread executor instead of its worker thread pool
+     * @param applicationTaskExecutor - virtual thread executor
+     * @return - TomcatProtocolHandlerCustomizer.class instance
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(AsyncTaskExecutor applicationTaskExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(applicationTaskExecutor);
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import com.aravindcz.bankrestapi.services.implementations.AuthenticationService;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ *
+ * AuthenticationController - provides the /api/v1/auth/login endpoint which exchanges the email and password of a customer or
+ * employee for a short lived access token to be sent as a bearer token on the following requests
+ * @author Aravind C
+ */
+@RestController
+@RequestMapping("/api/v1/auth")
+@AllArgsConstructor
+public class AuthenticationController {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+
+
+    @PostMapping(path = "/login",consumes = "application/json",produces = "application/json")
+    public ResponseEntity login(@Valid @RequestBody UserDTO userDTO) throws Exception {
+
+        ResponseEntity responseEntity = authenticationService.login(userDTO);
+
+        return responseEntity;
+    }
+
+
+}
@@ -0,0 +1,21 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+/**
+ *
+ * ContentTypes - media types the controllers read and write , json is the default and is listed first so it is chosen when the
+ * client accepts any type , the binary cbor and smile encodings of the same data transfer objects are meant for the internal
+ * clients calling the endpoints in bulk
+ * @author Aravind C
+ */
+final class ContentTypes {
+
+    static final String JSON = "application/json";
+
+    static final String CBOR = "application/cbor";
+
+    static final String SMILE = "application/x-jackson-smile";
+
+    private ContentTypes() {
+    }
+
+}
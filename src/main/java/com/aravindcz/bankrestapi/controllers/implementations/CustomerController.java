@@ -7,10 +7,13 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import static com.aravindcz.bankrestapi.controllers.implementations.ContentTypes.*;
+
 /**
  *
  * CustomerController - provides methods for handling all the crud operations on the /api/v1/customers endpoint, managing the authoriza
@@ -30,7 +33,7 @@ public class CustomerController {
 
 
     @PreAuthorize("hasAnyAuthority('ROLE_CUSTOMER','ROLE_EMPLOYEE')")
-    @PostMapping(value = "",consumes = "application/json",produces = "application/json")
+    @PostMapping(value = "",consumes = {JSON,CBOR,SMILE},produces = {JSON,CBOR,SMILE})
     public ResponseEntity save(@Valid @RequestBody CustomerDTO customerDTO) throws Exception {
 
 
@@ -40,43 +43,47 @@ public class CustomerController {
     }
 
     @PreAuthorize("hasAuthority('ROLE_EMPLOYEE')")
-    @GetMapping(value = "",produces = "application/json")
-    public ResponseEntity findAll() throws Exception {
+    @GetMapping(value = "",produces = {JSON,CBOR,SMILE})
+    public ResponseEntity findAll(@RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer size) throws Exception {
 
-        ResponseEntity responseEntity = customerService.findAll();
+        ResponseEntity responseEntity = customerService.findAll(cursor,size);
 
         return responseEntity;
     }
 
     @PreAuthorize("hasAnyAuthority('ROLE_CUSTOMER','ROLE_EMPLOYEE')")
-    @GetMapping(value = "/{id}",produces = "application/json")
-    public ResponseEntity findById(@PathVariable long id) throws Exception {
+    @GetMapping(value = "/{id}",produces = {JSON,CBOR,SMILE})
+    public ResponseEntity findById(@PathVariable long id,
+                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,required = false) String ifNoneMatch) throws Exception {
 
-        ResponseEntity responseEntity = customerService.findById(id);
+        ResponseEntity responseEntity = customerService.findById(id,ifNoneMatch);
 
         return responseEntity;
     }
 
 
     @PreAuthorize("hasAnyAuthority('ROLE_CUSTOMER','ROLE_EMPLOYEE')")
-    @PutMapping(value = "/{id}",consumes = "application/json",produces = "application/json")
-    public ResponseEntity update(@PathVariable long id,@Valid @RequestBody CustomerDTO customerDTO) throws Exception {
-        ResponseEntity responseEntity = customerService.update(id,customerDTO);
+    @PutMapping(value = "/{id}",consumes = {JSON,CBOR,SMILE},produces = {JSON,CBOR,SMILE})
+    public ResponseEntity update(@PathVariable long id,@Valid @RequestBody CustomerDTO customerDTO,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH,required = false) String ifMatch) throws Exception {
+        ResponseEntity responseEntity = customerService.update(id,customerDTO,ifMatch);
 
         return responseEntity;
     }
 
     @PreAuthorize("hasAnyAuthority('ROLE_CUSTOMER','ROLE_EMPLOYEE')")
-    @DeleteMapping(value = "/{id}",produces = "application/json")
-    public ResponseEntity deleteById(@PathVariable long id) throws Exception {
+    @DeleteMapping(value = "/{id}",produces = {JSON,CBOR,SMILE})
+    public ResponseEntity deleteById(@PathVariable long id,
+                                     @RequestHeader(value = HttpHeaders.IF_MATCH,required = false) String ifMatch) throws Exception {
 
-        ResponseEntity responseEntity = customerService.deleteById(id);
+        ResponseEntity responseEntity = customerService.deleteById(id,ifMatch);
 
         return responseEntity;
     }
 
 
-    @PostMapping(path = "/register",consumes = "application/json",produces = "application/json")
+    @PostMapping(path = "/register",consumes = {JSON,CBOR,SMILE},produces = {JSON,CBOR,SMILE})
     public ResponseEntity createAccount(@Valid @RequestBody UserDTO userDTO) throws Exception {
 
         userDTO.setRole("ROLE_CUSTOMER");
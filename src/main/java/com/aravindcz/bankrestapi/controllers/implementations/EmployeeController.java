@@ -37,9 +37,10 @@ public class EmployeeController {
 
     @PreAuthorize("hasAuthority('ROLE_MANAGER')")
     @GetMapping(value = "",produces = "application/json")
-    public ResponseEntity findAll() throws Exception {
+    public ResponseEntity findAll(@RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer size) throws Exception {
 
-        ResponseEntity responseEntity = employeeService.findAll();
+        ResponseEntity responseEntity = employeeService.findAll(cursor,size);
 
         return responseEntity;
     }
@@ -0,0 +1,50 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+import com.aravindcz.bankrestapi.services.implementations.ExportService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ *
+ * ExportController - provides the employee only /api/v1/exports endpoints , each of them streams a whole table as newline
+ * delimited json with one data transfer object per line instead of the uniform response format
+ * @author Aravind C
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@AllArgsConstructor
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+
+    @PreAuthorize("hasAuthority('ROLE_EMPLOYEE')")
+    @GetMapping(value = "/customers",produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportCustomers() {
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(exportService.exportCustomers());
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_EMPLOYEE')")
+    @GetMapping(value = "/loans",produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportLoans() {
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(exportService.exportLoans());
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_EMPLOYEE')")
+    @GetMapping(value = "/lockers",produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportLockers() {
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(exportService.exportLockers());
+    }
+
+}
@@ -5,10 +5,15 @@ import com.aravindcz.bankrestapi.services.implementations.LoanService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
+import static com.aravindcz.bankrestapi.controllers.implementations.ContentTypes.*;
+
 /**
  *
  * LoanController - provides methods for handling all the crud operations on the /api/v1/customers/{customerId}/offerings/loans endpoint,
@@ -26,7 +31,7 @@ public class LoanController {
 
 
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
-    @PostMapping(value = "",consumes = "application/json",produces = "application/json")
+    @PostMapping(value = "",consumes = {JSON,CBOR,SMILE},produces = {JSON,CBOR,SMILE})
     public ResponseEntity save(@PathVariable long customerId,@Valid @RequestBody LoanDTO loanDTO) throws Exception {
 
         ResponseEntity responseEntity = loanService.save(customerId,loanDTO);
@@ -35,29 +40,41 @@ public class LoanController {
     }
 
     @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
-    @GetMapping(value = "",produces = "application/json")
-    public ResponseEntity findAll(@PathVariable long customerId) throws Exception {
+    @PostMapping(value = "/bulk",consumes = {JSON,CBOR,SMILE},produces = {JSON,CBOR,SMILE})
+    public ResponseEntity saveAll(@PathVariable long customerId,@RequestBody List<LoanDTO> loanDTOList) throws Exception {
+
+        ResponseEntity responseEntity = loanService.saveAll(customerId,loanDTOList);
+
+        return responseEntity;
+    }
+
+    @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
+    @GetMapping(value = "",produces = {JSON,CBOR,SMILE})
+    public ResponseEntity findAll(@PathVariable long customerId,
+                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,required = false) String ifNoneMatch) throws Exception {
 
-        ResponseEntity responseEntity = loanService.findAll(customerId);
+        ResponseEntity responseEntity = loanService.findAll(customerId,ifNoneMatch);
 
         return responseEntity;
     }
 
 
     @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
-    @GetMapping(value = "/{number}",produces = "application/json")
-    public ResponseEntity findByNumber(@PathVariable long customerId,@PathVariable long number) throws Exception {
+    @GetMapping(value = "/{number}",produces = {JSON,CBOR,SMILE})
+    public ResponseEntity findByNumber(@PathVariable long customerId,@PathVariable long number,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,required = false) String ifNoneMatch) throws Exception {
 
-        ResponseEntity responseEntity = loanService.findByNumber(customerId,number);
+        ResponseEntity responseEntity = loanService.findByNumber(customerId,number,ifNoneMatch);
 
         return responseEntity;
     }
 
     @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
-    @PutMapping(value = "/{number}",consumes = "application/json",produces = "application/json")
-    public ResponseEntity update(@PathVariable long customerId,@PathVariable long number,@Valid @RequestBody LoanDTO loanDTO) throws Exception {
+    @PutMapping(value = "/{number}",consumes = {JSON,CBOR,SMILE},produces = {JSON,CBOR,SMILE})
+    public ResponseEntity update(@PathVariable long customerId,@PathVariable long number,@Valid @RequestBody LoanDTO loanDTO,
+                                 @RequestHeader(value = HttpHeaders.IF_MATCH,required = false) String ifMatch) throws Exception {
 
-        ResponseEntity responseEntity = loanService.update(customerId,number,loanDTO);
+        ResponseEntity responseEntity = loanService.update(customerId,number,loanDTO,ifMatch);
 
 
         return responseEntity;
@@ -67,10 +84,11 @@ public class LoanController {
 
 
     @PreAuthorize("hasAuthority('ROLE_CUSTOMER')")
-    @DeleteMapping(value = "/{number}",produces = "application/json")
-    public ResponseEntity deleteByNumber(@PathVariable long customerId,@PathVariable long number) throws Exception {
+    @DeleteMapping(value = "/{number}",produces = {JSON,CBOR,SMILE})
+    public ResponseEntity deleteByNumber(@PathVariable long customerId,@PathVariable long number,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH,required = false) String ifMatch) throws Exception {
 
-        ResponseEntity responseEntity = loanService.deleteByNumber(customerId,number);
+        ResponseEntity responseEntity = loanService.deleteByNumber(customerId,number,ifMatch);
 
         return responseEntity;
     }
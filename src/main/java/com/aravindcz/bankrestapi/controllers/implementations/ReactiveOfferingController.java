@@ -0,0 +1,91 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+import com.aravindcz.bankrestapi.configurations.AccessTokenHandlerFilter;
+import com.aravindcz.bankrestapi.configurations.UserDetailsImplementation;
+import com.aravindcz.bankrestapi.services.implementations.ReactiveOfferingService;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ *
+ * ReactiveOfferingController - provides the handler functions of the reactive read api for the
+ * /api/v1/customers/{customerId}/offerings/loans and /api/v1/customers/{customerId}/offerings/lockers endpoints , the routes are
+ * declared in ReactiveReadApiConfiguration and the responses are the same as the ones of LoanController and LockerController
+ * @author Aravind C
+ */
+@Component
+@ConditionalOnProperty(name = "reactive.server.enabled", havingValue = "true")
+@AllArgsConstructor
+public class ReactiveOfferingController {
+
+    @Autowired
+    private ReactiveOfferingService reactiveOfferingService;
+
+
+    private static UserDetailsImplementation principal(ServerRequest request) {
+        return AccessTokenHandlerFilter.principal(request).orElseThrow();
+    }
+
+    private static long pathVariable(ServerRequest request, String name) {
+
+        String value = request.pathVariable(name);
+
+        //the routes only match digits but a longer id still overflows , it is refused the way the servlet side refuses it
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new TypeMismatchException(value, long.class, e);
+        }
+    }
+
+    private static String ifNoneMatch(ServerRequest request) {
+        return request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+    }
+
+    /**
+     * Method that writes a response entity built by the service as the server response
+     * @param responseEntity - custom response entity
+     * @return - server response with the status , headers and body of the response entity
+     */
+    private static Mono<ServerResponse> respond(Mono<ResponseEntity> responseEntity) {
+
+        return responseEntity.flatMap(entity -> {
+
+            ServerResponse.BodyBuilder bodyBuilder = ServerResponse.status(entity.getStatusCode())
+                    .headers(httpHeaders -> httpHeaders.addAll(entity.getHeaders()));
+
+            return entity.hasBody() ? bodyBuilder.contentType(MediaType.APPLICATION_JSON).bodyValue(entity.getBody())
+                    : bodyBuilder.build();
+        });
+    }
+
+    public Mono<ServerResponse> findAllLoans(ServerRequest request) {
+        return respond(reactiveOfferingService.findAllLoans(principal(request),pathVariable(request,"customerId"),
+                ifNoneMatch(request)));
+    }
+
+    public Mono<ServerResponse> findLoanByNumber(ServerRequest request) {
+        return respond(reactiveOfferingService.findLoanByNumber(principal(request),pathVariable(request,"customerId"),
+                pathVariable(request,"number"),ifNoneMatch(request)));
+    }
+
+    public Mono<ServerResponse> findAllLockers(ServerRequest request) {
+        return respond(reactiveOfferingService.findAllLockers(principal(request),pathVariable(request,"customerId"),
+                ifNoneMatch(request)));
+    }
+
+    public Mono<ServerResponse> findLockerByNumber(ServerRequest request) {
+        return respond(reactiveOfferingService.findLockerByNumber(principal(request),pathVariable(request,"customerId"),
+                pathVariable(request,"number"),ifNoneMatch(request)));
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.aravindcz.bankrestapi.exceptions;
+
+/**
+ * Base of the exceptions the services throw to refuse a request , they are part of the normal control flow so no stack trace is
+ * captured and suppression is disabled , which makes throwing one about as cheap as allocating it , the cause is kept when there
+ * is one
+ */
+public abstract class BankDomainException extends Exception{
+
+    protected BankDomainException() {
+        super(null, null, false, false);
+    }
+
+    protected BankDomainException(Throwable cause) {
+        super(null, cause, false, false);
+    }
+
+}
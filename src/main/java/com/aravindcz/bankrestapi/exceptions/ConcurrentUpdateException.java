@@ -0,0 +1,4 @@
+package com.aravindcz.bankrestapi.exceptions;
+
+public class ConcurrentUpdateException extends BankDomainException{
+}
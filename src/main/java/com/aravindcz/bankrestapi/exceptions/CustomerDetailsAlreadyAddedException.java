@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class CustomerDetailsAlreadyAddedException extends Exception{
+public class CustomerDetailsAlreadyAddedException extends BankDomainException{
 }
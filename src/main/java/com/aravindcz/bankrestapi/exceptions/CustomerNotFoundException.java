@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class CustomerNotFoundException extends Exception{
+public class CustomerNotFoundException extends BankDomainException{
 }
@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class EmailAlreadyRegisteredException extends Exception{
+public class EmailAlreadyRegisteredException extends BankDomainException{
 }
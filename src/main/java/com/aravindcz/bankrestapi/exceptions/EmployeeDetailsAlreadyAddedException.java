@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class EmployeeDetailsAlreadyAddedException extends Exception{
+public class EmployeeDetailsAlreadyAddedException extends BankDomainException{
 }
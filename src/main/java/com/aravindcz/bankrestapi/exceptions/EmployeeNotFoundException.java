@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class EmployeeNotFoundException extends Exception{
+public class EmployeeNotFoundException extends BankDomainException{
 }
@@ -0,0 +1,130 @@
+package com.aravindcz.bankrestapi.exceptions;
+
+import com.aravindcz.bankrestapi.models.dtos.ResponseDTO;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.Map;
+
+
+/**
+ * ErrorResponseTable - maps every exception the api answers with a failure to the log event , status , code and message of its
+ * response , the entry of a class is resolved from its nearest mapped superclass on first use and then cached so a failed request
+ * only looks up the entry of its exception class , the body is a mutable dto and is built for every response from the entry
+ * @author Aravind C
+ */
+final class ErrorResponseTable {
+
+    /**
+     * ErrorResponse - precomputed response of an exception class
+     * @param event - name of the failure in the log event
+     * @param httpStatus - status of the response
+     * @param audited - whether the failure is written to the security audit trail
+     * @param code - code of the body
+     * @param message - message of the body
+     */
+    record ErrorResponse(String event, HttpStatus httpStatus, boolean audited, int code, String message) {
+
+        boolean isServerError() {
+            return httpStatus.is5xxServerError();
+        }
+
+        /**
+         * Method that returns a new body of the response in the uniform response format
+         * @return - ResponseDTO.class instance owned by the caller
+         */
+        ResponseDTO responseDTO() {
+            return new ResponseDTO(false,code,message,null);
+        }
+
+        /**
+         * Method that returns a new response entity holding a new body
+         * @return - custom response entity
+         */
+        ResponseEntity responseEntity() {
+            return new ResponseEntity(responseDTO(),httpStatus);
+        }
+    }
+
+    private static final ErrorResponse SERVER_ERROR = entry("exception",500,"Server side error",HttpStatus.INTERNAL_SERVER_ERROR,false);
+
+    private static final Map<Class<?>, ErrorResponse> ENTRIES = Map.ofEntries(
+            Map.entry(EmailAlreadyRegisteredException.class, entry("email_already_registered",409,
+                    "Email address provided is already registered with an account",HttpStatus.CONFLICT,false)),
+            Map.entry(CustomerDetailsAlreadyAddedException.class, entry("customer_details_already_added",409,
+                    "Customer details for this id is already added",HttpStatus.CONFLICT,false)),
+            Map.entry(UnauthorizedCustomerException.class, entry("unauthorized_customer",403,
+                    "Customer is not authorized to perform this action on the resource",HttpStatus.FORBIDDEN,true)),
+            Map.entry(CustomerNotFoundException.class, entry("customer_not_found",404,
+                    "There are no customers in the database with this id",HttpStatus.NOT_FOUND,false)),
+            Map.entry(OfferingDetailsAlreadyAddedException.class, entry("offering_details_already_added",409,
+                    "Offering details for this id is already added",HttpStatus.CONFLICT,false)),
+            Map.entry(OfferingNotFoundException.class, entry("offering_not_found",404,
+                    "There are no offerings in the database for this customer",HttpStatus.NOT_FOUND,false)),
+            Map.entry(LockerAlreadyPresentException.class, entry("locker_already_present",409,
+                    "Locker with same number already present . Please choose another number",HttpStatus.CONFLICT,false)),
+            Map.entry(LockerNotFoundException.class, entry("locker_not_found",404,
+                    "There are no lockers in the database for this customer with this nunmber",HttpStatus.NOT_FOUND,false)),
+            Map.entry(UnauthorizedEmployeeException.class, entry("unauthorized_employee",403,
+                    "Employee is not authorized to perform this action on the resource",HttpStatus.UNAUTHORIZED,true)),
+            Map.entry(EmployeeDetailsAlreadyAddedException.class, entry("employee_details_already_added",409,
+                    "Employee details for this id is already added",HttpStatus.CONFLICT,false)),
+            Map.entry(EmployeeNotFoundException.class, entry("employee_not_found",404,
+                    "There are no employees in the database with this id",HttpStatus.NOT_FOUND,false)),
+            Map.entry(LoanAlreadyPresentException.class, entry("loan_already_present",409,
+                    "Loan with same number already present . Please choose another number",HttpStatus.CONFLICT,false)),
+            Map.entry(LoanNotFoundException.class, entry("loan_not_found",404,
+                    "There are no loans in the database for this customer with this nunmber",HttpStatus.NOT_FOUND,false)),
+            Map.entry(InconsistentDetailsException.class, entry("inconsistent_details",400,
+                    "Inconsistent details found in the request for the given request",HttpStatus.BAD_REQUEST,false)),
+            Map.entry(InvalidEmailAddressException.class, entry("invalid_email_address",400,
+                    "Email address is in invalid format",HttpStatus.BAD_REQUEST,false)),
+            Map.entry(InvalidCredentialsException.class, entry("invalid_credentials",401,
+                    "Email address or password is incorrect",HttpStatus.UNAUTHORIZED,true)),
+            Map.entry(MethodArgumentNotValidException.class, entry("method_argument_not_valid",400,
+                    "Method arguments are not valid",HttpStatus.BAD_REQUEST,false)),
+            Map.entry(TypeMismatchException.class, entry("argument_type_mismatch",400,
+                    "Method arguments are not valid",HttpStatus.BAD_REQUEST,false)),
+            Map.entry(AccessDeniedException.class, entry("access_denied",403,
+                    "User is not authorized to make this request",HttpStatus.FORBIDDEN,true)),
+            Map.entry(PreconditionFailedException.class, entry("precondition_failed",412,
+                    "Resource was changed after the version given in If-Match",HttpStatus.PRECONDITION_FAILED,false)),
+            Map.entry(ConcurrentUpdateException.class, entry("concurrent_update",409,
+                    "Resource was changed by another request , read it again before retrying",HttpStatus.CONFLICT,false)),
+            Map.entry(StatementBudgetExceededException.class, entry("statement_budget_exceeded",500,
+                    "Request went over its sql statement budget",HttpStatus.INTERNAL_SERVER_ERROR,false)),
+            Map.entry(ServiceFailureException.class, SERVER_ERROR),
+            Map.entry(Exception.class, SERVER_ERROR));
+
+    private static final ClassValue<ErrorResponse> RESOLVED = new ClassValue<>() {
+        @Override
+        protected ErrorResponse computeValue(Class<?> type) {
+            for(Class<?> current = type; current != null; current = current.getSuperclass()) {
+                ErrorResponse errorResponse = ENTRIES.get(current);
+                if(errorResponse != null)
+                    return errorResponse;
+            }
+            return SERVER_ERROR;
+        }
+    };
+
+    private ErrorResponseTable() {
+    }
+
+    private static ErrorResponse entry(String event, int code, String message, HttpStatus httpStatus, boolean audited) {
+        return new ErrorResponse(event,httpStatus,audited,code,message);
+    }
+
+    /**
+     * Method that returns the response entry of an exception
+     * @param throwable - exception the request failed with
+     * @return - entry of the exception class , the server side error response if the class is not mapped
+     */
+    static ErrorResponse of(Throwable throwable) {
+        return RESOLVED.get(throwable.getClass());
+    }
+
+}
@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class InconsistentDetailsException extends Exception{
+public class InconsistentDetailsException extends BankDomainException{
 }
@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class InvalidEmailAddressException extends Exception{
+public class InvalidEmailAddressException extends BankDomainException{
 }
@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class LoanAlreadyPresentException extends Exception{
+public class LoanAlreadyPresentException extends BankDomainException{
 }
@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class LoanNotFoundException extends Exception{
+public class LoanNotFoundException extends BankDomainException{
 }
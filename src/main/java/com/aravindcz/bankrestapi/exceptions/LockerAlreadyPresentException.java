@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class LockerAlreadyPresentException extends Exception{
+public class LockerAlreadyPresentException extends BankDomainException{
 }
@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class LockerNotFoundException extends Exception{
+public class LockerNotFoundException extends BankDomainException{
 }
@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class OfferingDetailsAlreadyAddedException extends Exception{
+public class OfferingDetailsAlreadyAddedException extends BankDomainException{
 }
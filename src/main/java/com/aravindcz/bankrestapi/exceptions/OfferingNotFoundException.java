@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class OfferingNotFoundException extends Exception{
+public class OfferingNotFoundException extends BankDomainException{
 }
@@ -0,0 +1,78 @@
+package com.aravindcz.bankrestapi.exceptions;
+
+import com.aravindcz.bankrestapi.configurations.AccessTokenHandlerFilter;
+import com.aravindcz.bankrestapi.configurations.SecurityAudit;
+import com.aravindcz.bankrestapi.configurations.UserDetailsImplementation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+
+/**
+ * ReactiveExceptionHandler - the counterpart of CentralizedExceptionHandler for the reactive read api , turns the errors of the
+ * handler functions into the responses of ErrorResponseTable and logs them the same way
+ * @author Aravind C
+ */
+@Component
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    @Autowired
+    private SecurityAudit securityAudit;
+
+    private static Object principalName(ServerRequest request) {
+        return AccessTokenHandlerFilter.principal(request).map(UserDetailsImplementation::getUsername).orElse("anonymous");
+    }
+
+    /**
+     * Method that returns the response for an error of the reactive read api
+     * @param throwable - error of the handler function or the filters in front of it
+     * @param request - request that failed
+     * @return - custom server response
+     */
+    public Mono<ServerResponse> handle(Throwable throwable, ServerRequest request) {
+
+        //requests without a valid bearer access token get the same empty 401 as the servlet stack
+        if(throwable instanceof AuthenticationException)
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).header(HttpHeaders.WWW_AUTHENTICATE,"Bearer").build();
+
+        ErrorResponseTable.ErrorResponse errorResponse = ErrorResponseTable.of(throwable);
+
+        if(errorResponse.isServerError()) {
+
+            Throwable cause = throwable instanceof ServiceFailureException ? throwable.getCause() : throwable;
+
+            log.atError()
+                    .addKeyValue("event",errorResponse.event())
+                    .addKeyValue("exception",cause.getClass().getName())
+                    .addKeyValue("principal",(Supplier<Object>) () -> principalName(request))
+                    .setCause(cause)
+                    .log("Request failed with a server side error");
+        } else if(errorResponse.audited()) {
+
+            securityAudit.denied(request,AccessTokenHandlerFilter.principal(request).orElse(null),errorResponse.event(),
+                    errorResponse.httpStatus());
+        } else {
+
+            log.atWarn()
+                    .addKeyValue("event",errorResponse.event())
+                    .addKeyValue("status",errorResponse.httpStatus().value())
+                    .addKeyValue("principal",(Supplier<Object>) () -> principalName(request))
+                    .log("Request failed");
+        }
+
+        return ServerResponse.status(errorResponse.httpStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(errorResponse.responseDTO());
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.aravindcz.bankrestapi.exceptions;
+
+/**
+ * Thrown by the services when a repository call or a conversion fails unexpectedly , it carries the failure as its cause so the
+ * stack trace logged for the server side error is the one of the root cause
+ */
+public class ServiceFailureException extends BankDomainException{
+
+    public ServiceFailureException(Throwable cause) {
+        super(cause);
+    }
+
+    /**
+     * Method that wraps an unexpected failure caught by a service , a statement budget going over its maximum is not a failure of
+     * the call and is thrown on as it is so it gets its own response and rolls the transaction back
+     * @param e - failure caught by the service
+     * @return - ServiceFailureException.class instance to be thrown
+     */
+    public static ServiceFailureException wrap(Exception e) {
+
+        if(e instanceof StatementBudgetExceededException statementBudgetExceededException)
+            throw statementBudgetExceededException;
+
+        return new ServiceFailureException(e);
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.aravindcz.bankrestapi.exceptions;
+
+/**
+ * Thrown by the statement inspector while a request goes over its sql statement budget , it is unchecked as it is raised from inside
+ * hibernate
+ */
+public class StatementBudgetExceededException extends RuntimeException{
+
+    public StatementBudgetExceededException(int maximum, String sql) {
+        super("Request went over its budget of " + maximum + " sql statements at " + sql);
+    }
+}
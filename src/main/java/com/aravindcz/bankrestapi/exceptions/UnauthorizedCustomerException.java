@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class UnauthorizedCustomerException extends Exception{
+public class UnauthorizedCustomerException extends BankDomainException{
 }
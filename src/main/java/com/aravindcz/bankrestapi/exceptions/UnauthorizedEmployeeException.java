@@ -1,4 +1,4 @@
 package com.aravindcz.bankrestapi.exceptions;
 
-public class UnauthorizedEmployeeException extends Exception{
+public class UnauthorizedEmployeeException extends BankDomainException{
 }
@@ -0,0 +1,21 @@
+package com.aravindcz.bankrestapi.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AccessTokenDTO implements Serializable {
+
+    private String accessToken;
+
+    private String tokenType;
+
+    private long expiresIn;
+}
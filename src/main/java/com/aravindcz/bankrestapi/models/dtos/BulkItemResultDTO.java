@@ -0,0 +1,21 @@
+package com.aravindcz.bankrestapi.models.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkItemResultDTO implements Serializable {
+
+    private long number;
+
+    private int code;
+
+    private String message;
+}
@@ -1,5 +1,6 @@
 package com.aravindcz.bankrestapi.models.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,4 +17,11 @@ public class ResponseDTO {
     private String message;
     private Object data;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+
+    public ResponseDTO(boolean status, int code, String message, Object data) {
+        this(status, code, message, data, null);
+    }
+
 }
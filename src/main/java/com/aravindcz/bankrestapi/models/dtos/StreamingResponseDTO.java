@@ -0,0 +1,86 @@
+package com.aravindcz.bankrestapi.models.dtos;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * StreamingResponseDTO - response of the list endpoints in the same json shape as ResponseDTO , the envelope is written first ,
+ * then every row is converted to its data transfer object and written straight to the response and the envelope is closed with
+ * the cursor of the next page , so no list of data transfer objects is built for the response , the rows are converted after the
+ * transaction of the service has ended so they have to be loaded with everything the mapper reads , the open session in view is
+ * not relied on as a lazy load there would go to the primary outside the replica routing and the statement budget
+ * @param <T> - type of the rows read by the service
+ */
+@JsonSerialize(using = StreamingResponseDTO.StreamingResponseSerializer.class)
+public class StreamingResponseDTO<T> extends ResponseDTO {
+
+    private final Collection<T> rows;
+
+    private final Function<T, ?> mapper;
+
+    public StreamingResponseDTO(int code, String message, Collection<T> rows, Function<T, ?> mapper) {
+        this(code, message, rows, mapper, null);
+    }
+
+    public StreamingResponseDTO(int code, String message, Collection<T> rows, Function<T, ?> mapper, String nextCursor) {
+        super(true, code, message, null, nextCursor);
+        this.rows = rows;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Method that returns the converted rows for callers reading the response in java , the json response does not use it
+     * @return - list of the data transfer objects of the rows
+     */
+    @Override
+    public Object getData() {
+        return rows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+    }
+
+    private void writeData(JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+
+        jsonGenerator.writeStartArray(rows, rows.size());
+
+        for(T row : rows)
+            serializerProvider.defaultSerializeValue(mapper.apply(row), jsonGenerator);
+
+        jsonGenerator.writeEndArray();
+    }
+
+    /**
+     * StreamingResponseSerializer - writes the fields in the order and with the inclusion rules jackson uses for ResponseDTO
+     */
+    public static class StreamingResponseSerializer extends StdSerializer<StreamingResponseDTO<?>> {
+
+        public StreamingResponseSerializer() {
+            super(StreamingResponseDTO.class, false);
+        }
+
+        @Override
+        public void serialize(StreamingResponseDTO<?> value, JsonGenerator jsonGenerator, SerializerProvider serializerProvider)
+                throws IOException {
+
+            jsonGenerator.writeStartObject(value);
+            jsonGenerator.writeBooleanField("status", value.isStatus());
+            jsonGenerator.writeNumberField("code", value.getCode());
+            jsonGenerator.writeStringField("message", value.getMessage());
+            jsonGenerator.writeFieldName("data");
+            value.writeData(jsonGenerator, serializerProvider);
+
+            if(value.getNextCursor() != null)
+                jsonGenerator.writeStringField("nextCursor", value.getNextCursor());
+
+            jsonGenerator.writeEndObject();
+        }
+    }
+
+}
@@ -1,9 +1,13 @@
 package com.aravindcz.bankrestapi.models.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,6 +16,8 @@ import lombok.Setter;
 import java.io.Serializable;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE,region = "branch")
 @Getter
 @Setter
 @AllArgsConstructor
@@ -19,7 +25,8 @@ import java.io.Serializable;
 public class Branch implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,generator = "branch_seq")
+    @SequenceGenerator(name = "branch_seq",sequenceName = "branch_seq",allocationSize = 50)
     private long id;
     private String name;
     private long code;
@@ -1,6 +1,8 @@
 package com.aravindcz.bankrestapi.models.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -10,6 +12,8 @@ import java.io.Serializable;
 import java.util.Date;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE,region = "card")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +21,8 @@ import java.util.Date;
 public class Card implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,generator = "card_seq")
+    @SequenceGenerator(name = "card_seq",sequenceName = "card_seq",allocationSize = 50)
     private long id;
     private long cardNumber;
     private long creditLimit;
@@ -1,12 +1,24 @@
 package com.aravindcz.bankrestapi.models.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.*;
 
 import java.io.Serializable;
 
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE,region = "customer")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = "Customer.summary"),
+        @NamedEntityGraph(name = "Customer.detail",attributeNodes = {
+                @NamedAttributeNode("branch"),
+                @NamedAttributeNode("card"),
+                @NamedAttributeNode("address")
+        })
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -15,32 +27,37 @@ import java.io.Serializable;
 public class Customer implements Serializable{
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq",sequenceName = "customer_seq",allocationSize = 50)
     private long id;
     private String name;
     private long accountNumber;
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL,fetch = FetchType.LAZY)
     @JoinColumn(name = "branch_id")
     private Branch branch;
     private String accountType;
     private long contactNumber;
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL,fetch = FetchType.LAZY)
     @JoinColumn(name="card_id")
     private Card card;
     private long panCardNumber;
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL,fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
     private Address address;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL,fetch = FetchType.LAZY)
     @JoinColumn(name = "offering_id",referencedColumnName = "id")
     private Offering offering;
 
+    @Column(unique = true)
     private String email;
 
     private String password;
 
     private String role;
 
+    @Version
+    private long version;
+
 
 }
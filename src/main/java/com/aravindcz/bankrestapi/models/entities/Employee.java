@@ -12,6 +12,7 @@ import java.io.Serializable;
 import java.util.Date;
 
 @Entity
+@NamedEntityGraph(name = "Employee.detail",attributeNodes = @NamedAttributeNode("address"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -19,19 +20,21 @@ import java.util.Date;
 public class Employee implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq",sequenceName = "employee_seq",allocationSize = 50)
 
     private long id;
     private String name;
     private int salary;
     private String title;
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL,fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
     private Address address;
 
     @Temporal(TemporalType.DATE)
     private Date joiningDate;
 
+    @Column(unique = true)
     private String email;
 
     private String password;
@@ -16,7 +16,8 @@ import java.io.Serializable;
 public class Loan implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,generator = "loan_seq")
+    @SequenceGenerator(name = "loan_seq",sequenceName = "loan_seq",allocationSize = 50)
     private long id;
 
     private long number;
@@ -25,8 +26,11 @@ public class Loan implements Serializable {
 
     private long amount;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "offering_id",referencedColumnName = "id")
     private Offering offering;
 
+    @Version
+    private long version;
+
 }
@@ -13,7 +13,8 @@ import java.io.Serializable;
 public class Locker implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,generator = "locker_seq")
+    @SequenceGenerator(name = "locker_seq",sequenceName = "locker_seq",allocationSize = 50)
     private long id;
     private long number;
 
@@ -22,8 +23,11 @@ public class Locker implements Serializable {
     private long branchCode;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "offering_id",referencedColumnName = "id")
     private Offering offering;
 
+    @Version
+    private long version;
+
 }
@@ -1,12 +1,25 @@
 package com.aravindcz.bankrestapi.models.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import lombok.*;
 
 import java.io.Serializable;
-import java.util.List;
+import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE,region = "offering")
+//only the loans are joined , joining both collections would return one row per loan and locker pair , the lockers are loaded
+//by a second subselect query instead , both are ordered by id as the sets would otherwise list the products of a response in any
+//order
+@NamedEntityGraph(name = "Offering.products",attributeNodes = {
+        @NamedAttributeNode("loan"),
+        @NamedAttributeNode("customer")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -14,16 +27,23 @@ import java.util.List;
 public class Offering implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE,generator = "offering_seq")
+    @SequenceGenerator(name = "offering_seq",sequenceName = "offering_seq",allocationSize = 50)
     private long id;
 
     @OneToMany(cascade = CascadeType.ALL,mappedBy = "offering")
-    private List<Locker> locker;
+    @Fetch(FetchMode.SUBSELECT)
+    @OrderBy("id")
+    private Set<Locker> locker;
 
     @OneToMany(cascade = CascadeType.ALL,mappedBy = "offering")
-    private List<Loan> loan;
+    @OrderBy("id")
+    private Set<Loan> loan;
 
     @OneToOne(cascade = CascadeType.ALL,mappedBy = "offering")
     private Customer customer;
 
+    @Version
+    private long version;
+
 }
@@ -0,0 +1,17 @@
+package com.aravindcz.bankrestapi.models.mappers;
+
+import com.aravindcz.bankrestapi.models.dtos.AddressDTO;
+import com.aravindcz.bankrestapi.models.entities.Address;
+import org.mapstruct.Mapper;
+
+/**
+ * AddressMapper - generated conversion between address jpa entity format object and address data transfer object
+ * @author Aravind C
+ */
+@Mapper(config = MappingConfiguration.class)
+public interface AddressMapper {
+
+    AddressDTO toAddressDTO(Address address);
+
+    Address toAddress(AddressDTO addressDTO);
+}
@@ -0,0 +1,33 @@
+package com.aravindcz.bankrestapi.models.mappers;
+
+import com.aravindcz.bankrestapi.models.dtos.BranchDTO;
+import com.aravindcz.bankrestapi.models.dtos.CardDTO;
+import com.aravindcz.bankrestapi.models.dtos.CustomerDTO;
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import com.aravindcz.bankrestapi.models.entities.Branch;
+import com.aravindcz.bankrestapi.models.entities.Card;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import org.mapstruct.Mapper;
+
+/**
+ * CustomerMapper - generated conversion between customer jpa entity format object and customer data transfer object along with
+ * the branch and card details it carries , also builds the customer registered from the user data transfer object
+ * @author Aravind C
+ */
+@Mapper(config = MappingConfiguration.class, uses = AddressMapper.class)
+public interface CustomerMapper {
+
+    CustomerDTO toCustomerDTO(Customer customer);
+
+    Customer toCustomer(CustomerDTO customerDTO);
+
+    Customer toCustomer(UserDTO userDTO);
+
+    BranchDTO toBranchDTO(Branch branch);
+
+    Branch toBranch(BranchDTO branchDTO);
+
+    CardDTO toCardDTO(Card card);
+
+    Card toCard(CardDTO cardDTO);
+}
@@ -0,0 +1,21 @@
+package com.aravindcz.bankrestapi.models.mappers;
+
+import com.aravindcz.bankrestapi.models.dtos.EmployeeDTO;
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import com.aravindcz.bankrestapi.models.entities.Employee;
+import org.mapstruct.Mapper;
+
+/**
+ * EmployeeMapper - generated conversion between employee jpa entity format object and employee data transfer object , also
+ * builds the employee registered from the user data transfer object
+ * @author Aravind C
+ */
+@Mapper(config = MappingConfiguration.class, uses = AddressMapper.class)
+public interface EmployeeMapper {
+
+    EmployeeDTO toEmployeeDTO(Employee employee);
+
+    Employee toEmployee(EmployeeDTO employeeDTO);
+
+    Employee toEmployee(UserDTO userDTO);
+}
@@ -0,0 +1,16 @@
+package com.aravindcz.bankrestapi.models.mappers;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * MappingConfiguration - shared configuration of the generated mappers , they are registered as spring beans and the properties
+ * that exist only on one side such as entity ids and relationships are left untouched just like the model mapper did
+ * @author Aravind C
+ */
+@MapperConfig(componentModel = "spring",
+        injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+        unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface MappingConfiguration {
+}
@@ -0,0 +1,42 @@
+package com.aravindcz.bankrestapi.models.mappers;
+
+import com.aravindcz.bankrestapi.models.dtos.LoanDTO;
+import com.aravindcz.bankrestapi.models.dtos.LockerDTO;
+import com.aravindcz.bankrestapi.models.dtos.OfferingDTO;
+import com.aravindcz.bankrestapi.models.entities.Loan;
+import com.aravindcz.bankrestapi.models.entities.Locker;
+import com.aravindcz.bankrestapi.models.entities.Offering;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.MappingTarget;
+
+/**
+ * OfferingMapper - generated conversion between offering jpa entity format object and offering data transfer object along with
+ * the loans and lockers it holds , the converted loans and lockers are linked back to their offering
+ * @author Aravind C
+ */
+@Mapper(config = MappingConfiguration.class)
+public interface OfferingMapper {
+
+    OfferingDTO toOfferingDTO(Offering offering);
+
+    Offering toOffering(OfferingDTO offeringDTO);
+
+    LoanDTO toLoanDTO(Loan loan);
+
+    Loan toLoan(LoanDTO loanDTO);
+
+    LockerDTO toLockerDTO(Locker locker);
+
+    Locker toLocker(LockerDTO lockerDTO);
+
+    @AfterMapping
+    default void linkProducts(@MappingTarget Offering offering) {
+
+        if(offering.getLoan() != null)
+            offering.getLoan().forEach(loan -> loan.setOffering(offering));
+
+        if(offering.getLocker() != null)
+            offering.getLocker().forEach(locker -> locker.setOffering(offering));
+    }
+}
@@ -0,0 +1,19 @@
+package com.aravindcz.bankrestapi.models.mappers;
+
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.models.entities.Employee;
+import org.mapstruct.Mapper;
+
+/**
+ * UserMapper - generated conversion of the customer and employee jpa entity format objects to the user data transfer object used
+ * for authentication
+ * @author Aravind C
+ */
+@Mapper(config = MappingConfiguration.class)
+public interface UserMapper {
+
+    UserDTO toUserDTO(Customer customer);
+
+    UserDTO toUserDTO(Employee employee);
+}
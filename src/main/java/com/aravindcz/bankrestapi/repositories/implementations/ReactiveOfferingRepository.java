@@ -0,0 +1,145 @@
+package com.aravindcz.bankrestapi.repositories.implementations;
+
+import com.aravindcz.bankrestapi.configurations.ReactiveReadConnections;
+import com.aravindcz.bankrestapi.models.entities.Loan;
+import com.aravindcz.bankrestapi.models.entities.Locker;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ *
+ * ReactiveOfferingRepository - reads the loans and lockers of a customer through the non blocking r2dbc connection pool , the
+ * customer owning the products is joined in the same statement so every read holds a connection for a single query , the rows
+ * are returned as detached jpa entities without their offering
+ * @author Aravind C
+ */
+@Repository
+@ConditionalOnProperty(name = "reactive.server.enabled", havingValue = "true")
+@AllArgsConstructor
+public class ReactiveOfferingRepository {
+
+    private static final String FIND_LOANS = "select c.offering_id as offering_id , l.id as id , l.number as number ,"
+            + " l.customer_id as customer_id , l.amount as amount , l.version as version from customer c"
+            + " left join loan l on l.offering_id = c.offering_id where c.id = ? order by l.id";
+
+    private static final String FIND_LOAN = "select l.id as id , l.number as number , l.customer_id as customer_id ,"
+            + " l.amount as amount , l.version as version from loan l join customer c on c.offering_id = l.offering_id"
+            + " where l.number = ? and c.id = ?";
+
+    private static final String FIND_LOCKERS = "select c.offering_id as offering_id , l.id as id , l.number as number ,"
+            + " l.account_number as account_number , l.branch_code as branch_code , l.version as version from customer c"
+            + " left join locker l on l.offering_id = c.offering_id where c.id = ? order by l.id";
+
+    private static final String FIND_LOCKER = "select l.id as id , l.number as number , l.account_number as account_number ,"
+            + " l.branch_code as branch_code , l.version as version from locker l join customer c on c.offering_id = l.offering_id"
+            + " where l.number = ? and c.id = ?";
+
+    @Autowired
+    private ReactiveReadConnections reactiveReadConnections;
+
+    /**
+     * OfferingRow - row of a customer left joined with its products , the product is null when the offering has none
+     */
+    private record OfferingRow<T>(boolean offering, T product) {
+    }
+
+    private static Loan toLoan(Row row) {
+        return new Loan(row.get("id", Long.class), row.get("number", Long.class), row.get("customer_id", Long.class),
+                row.get("amount", Long.class), null, row.get("version", Long.class));
+    }
+
+    private static Locker toLocker(Row row) {
+        return new Locker(row.get("id", Long.class), row.get("number", Long.class), row.get("account_number", Long.class),
+                row.get("branch_code", Long.class), null, row.get("version", Long.class));
+    }
+
+    /**
+     * Method that runs a query on a connection borrowed from the pool , the connection is given back once the rows are read ,
+     * the query fails or the subscriber cancels
+     * @param sql - query with positional parameters
+     * @param mapper - function converting a row to the returned object
+     * @param parameters - values of the positional parameters
+     * @return - rows of the query converted by the mapper
+     */
+    private <T> Flux<T> query(String sql, Function<Row, T> mapper, long... parameters) {
+
+        return Flux.usingWhen(reactiveReadConnections.connectionFactory().create(), connection -> {
+
+            Statement statement = connection.createStatement(sql);
+
+            for(int i = 0; i < parameters.length; i++)
+                statement.bind(i, parameters[i]);
+
+            return Flux.from(statement.execute()).flatMap(result -> result.map((row, metadata) -> mapper.apply(row)));
+        }, Connection::close);
+    }
+
+    /**
+     * Method that reads the products of the offering of a customer
+     * @param sql - query left joining the customer with its products
+     * @param mapper - function converting the product columns of a row
+     * @param customerId - customer id
+     * @return - products of the offering , empty when the customer or its offering does not exist
+     */
+    private <T> Mono<List<T>> findProducts(String sql, Function<Row, T> mapper, long customerId) {
+
+        return query(sql, row -> new OfferingRow<>(row.get("offering_id", Long.class) != null,
+                        row.get("id", Long.class) == null ? null : mapper.apply(row)), customerId)
+                .collectList()
+                .flatMap(rowList -> rowList.isEmpty() || !rowList.get(0).offering() ? Mono.<List<T>>empty()
+                        : Mono.just(rowList.stream()
+                                .map(OfferingRow::product)
+                                .filter(Objects::nonNull)
+                                .toList()));
+    }
+
+    /**
+     * Method that reads all the loans of a customer
+     * @param customerId - customer id
+     * @return - loans of the customer , empty when the customer or its offering does not exist
+     */
+    public Mono<List<Loan>> findLoansByCustomerId(long customerId) {
+        return findProducts(FIND_LOANS, ReactiveOfferingRepository::toLoan, customerId);
+    }
+
+    /**
+     * Method that reads a loan by its number if it belongs to the customer
+     * @param number - loan number
+     * @param customerId - customer id
+     * @return - loan , empty when it does not exist or belongs to another customer
+     */
+    public Mono<Loan> findLoanByNumberAndCustomerId(long number, long customerId) {
+        return query(FIND_LOAN, ReactiveOfferingRepository::toLoan, number, customerId).next();
+    }
+
+    /**
+     * Method that reads all the lockers of a customer
+     * @param customerId - customer id
+     * @return - lockers of the customer , empty when the customer or its offering does not exist
+     */
+    public Mono<List<Locker>> findLockersByCustomerId(long customerId) {
+        return findProducts(FIND_LOCKERS, ReactiveOfferingRepository::toLocker, customerId);
+    }
+
+    /**
+     * Method that reads a locker by its number if it belongs to the customer
+     * @param number - locker number
+     * @param customerId - customer id
+     * @return - locker , empty when it does not exist or belongs to another customer
+     */
+    public Mono<Locker> findLockerByNumberAndCustomerId(long number, long customerId) {
+        return query(FIND_LOCKER, ReactiveOfferingRepository::toLocker, number, customerId).next();
+    }
+
+}
@@ -1,14 +1,49 @@
 package com.aravindcz.bankrestapi.repositories.interfaces;
 
 import com.aravindcz.bankrestapi.models.entities.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer,Long> {
     public Optional<Customer> findByAccountNumber(long accountNumber);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "customer-queries")
+    })
     public Optional<Customer> findByEmail(String email);
+
+    public boolean existsByEmail(String email);
+
+    @EntityGraph("Customer.summary")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "customer-queries")
+    })
+    public Optional<Customer> findSummaryById(long id);
+
+    @EntityGraph("Customer.detail")
+    public Optional<Customer> findDetailById(long id);
+
+    @EntityGraph("Customer.detail")
+    public List<Customer> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    @Query("select c.email from Customer c where c.email is not null")
+    public Stream<String> streamAllEmails();
+
+    @EntityGraph("Customer.detail")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select c from Customer c order by c.id")
+    public Stream<Customer> streamAll();
 }
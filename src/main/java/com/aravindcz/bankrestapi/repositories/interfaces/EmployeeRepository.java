@@ -1,13 +1,29 @@
 package com.aravindcz.bankrestapi.repositories.interfaces;
 
 import com.aravindcz.bankrestapi.models.entities.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     public Optional<Employee> findByEmail(String email);
+
+    public boolean existsByEmail(String email);
+
+    @EntityGraph("Employee.detail")
+    public Optional<Employee> findDetailById(long id);
+
+    @EntityGraph("Employee.detail")
+    public List<Employee> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    @Query("select e.email from Employee e where e.email is not null")
+    public Stream<String> streamAllEmails();
 }
@@ -0,0 +1,14 @@
+package com.aravindcz.bankrestapi.repositories.interfaces;
+
+/**
+ *
+ * EntityVersion - projection of the id and the optimistic locking version of an entity , read by the list endpoints to work out
+ * their entity tag without loading the rows themselves
+ * @author Aravind C
+ */
+public interface EntityVersion {
+
+    long getId();
+
+    long getVersion();
+}
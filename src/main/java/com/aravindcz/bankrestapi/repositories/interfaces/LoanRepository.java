@@ -2,11 +2,19 @@ package com.aravindcz.bankrestapi.repositories.interfaces;
 
 import com.aravindcz.bankrestapi.models.entities.Loan;
 import jakarta.transaction.Transactional;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan,Long> {
@@ -17,5 +25,17 @@ public interface LoanRepository extends JpaRepository<Loan,Long> {
 
     public boolean existsByNumber(long number);
 
+    public Optional<Loan> findByNumberAndOffering_Customer_Id(long number, long customerId);
+
     public List<Loan> findByOffering_Id(long offeringId);
+
+    @Query("select l.id as id , l.version as version from Loan l where l.offering.id = :offeringId")
+    public List<EntityVersion> findVersionsByOffering_Id(@Param("offeringId") long offeringId);
+
+    @Query("select l.number from Loan l where l.number in :numbers")
+    public Set<Long> findExistingNumbers(@Param("numbers") Collection<Long> numbers);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select l from Loan l order by l.id")
+    public Stream<Loan> streamAll();
 }
@@ -1,7 +1,11 @@
 package com.aravindcz.bankrestapi.repositories.interfaces;
 
 import com.aravindcz.bankrestapi.models.entities.Offering;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,5 +13,12 @@ import java.util.Optional;
 @Repository
 public interface OfferingRepository extends JpaRepository<Offering,Long> {
 
+   @QueryHints({
+           @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+           @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "offering-queries")
+   })
    public Optional<Offering> findByCustomer_Id(long id);
+
+   @EntityGraph("Offering.products")
+   public Optional<Offering> findWithProductsByCustomer_Id(long id);
 }
@@ -0,0 +1,66 @@
+package com.aravindcz.bankrestapi.services.implementations;
+
+import com.aravindcz.bankrestapi.configurations.AccessTokenService;
+import com.aravindcz.bankrestapi.configurations.UserDetailsImplementation;
+import com.aravindcz.bankrestapi.configurations.UserDetailsServiceImplementation;
+import com.aravindcz.bankrestapi.exceptions.InvalidCredentialsException;
+import com.aravindcz.bankrestapi.models.dtos.AccessTokenDTO;
+import com.aravindcz.bankrestapi.models.dtos.ResponseDTO;
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ *
+ * AuthenticationService - provides the login functionality which checks the user supplied credentials once and issues a signed
+ * access token that authenticates the following requests without any database lookup
+ * @author Aravind C
+ */
+@Service
+@AllArgsConstructor
+public class AuthenticationService {
+
+    @Autowired
+    private UserDetailsServiceImplementation userDetailsService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
+
+    /**
+     * Method that verifies the email and password of a customer or employee and issues an access token for the account
+     * @param userDTO - user details like email and password input by the user
+     * @return - custom response entity containing the access token
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
+     */
+    public ResponseEntity login(UserDTO userDTO) throws Exception {
+
+        UserDetailsImplementation userDetails;
+
+        try {
+            userDetails = (UserDetailsImplementation) userDetailsService.loadUserByUsername(userDTO.getEmail());
+        } catch (UsernameNotFoundException e){
+            throw new InvalidCredentialsException();
+        }
+
+        if(!passwordEncoder.matches(userDTO.getPassword(),userDetails.getPassword()))
+            throw new InvalidCredentialsException();
+
+        AccessTokenDTO accessTokenDTO = new AccessTokenDTO(accessTokenService.issue(userDetails),"Bearer",
+                accessTokenService.getTimeToLiveSeconds());
+
+        ResponseDTO responseDTO = new ResponseDTO(true,200,"Access token successfully issued",accessTokenDTO);
+        ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
+
+        return responseEntity;
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.aravindcz.bankrestapi.services.implementations;
+
+import com.aravindcz.bankrestapi.exceptions.InconsistentDetailsException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ *
+ * BulkRequestValidator - provides the checks shared by the bulk endpoints , the request as a whole is rejected when it is empty ,
+ * too large or holds null items while the constraints of each item are checked one by one so that a single invalid item does
+ * not fail the rest of the batch
+ * @author Aravind C
+ */
+@Component
+public class BulkRequestValidator {
+
+    private final Validator validator;
+
+    private final int maximumItems;
+
+    public BulkRequestValidator(Validator validator, @Value("${bulk.maximum-items}") int maximumItems) {
+        this.validator = validator;
+        this.maximumItems = maximumItems;
+    }
+
+    /**
+     * Method that checks the size of a bulk request
+     * @param items - items of the bulk request
+     * @throws InconsistentDetailsException - if the request is empty , holds null items or more than the maximum number of items
+     */
+    public void validateSize(List<?> items) throws InconsistentDetailsException {
+        if(items == null || items.isEmpty() || items.size() > maximumItems || items.stream().anyMatch(Objects::isNull))
+            throw new InconsistentDetailsException();
+    }
+
+    /**
+     * Method that checks the bean validation constraints of a single item
+     * @param item - item of the bulk request
+     * @return - true if the item satisfies all of its constraints
+     */
+    public boolean isValid(Object item) {
+        return validator.validate(item).isEmpty();
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.aravindcz.bankrestapi.services.implementations;
+
+import com.aravindcz.bankrestapi.configurations.UserDetailsImplementation;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.models.entities.Offering;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ *
+ * CallerContext - request scoped holder of the current logged in principal which resolves the role , account id and the
+ * customer and offering entities touched by the request only once , so that the ownership checks and the services working on
+ * the same customer share a single lookup
+ * @author Aravind C
+ */
+@Component
+@RequestScope
+public class CallerContext {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private UserDetailsImplementation principal;
+
+    private Boolean employee;
+
+    private final Map<Long, Optional<Customer>> customers = new HashMap<>();
+
+
+    /**
+     * Method that returns the current logged in principal
+     * @return - user details of the principal that made the request
+     */
+    public UserDetailsImplementation getPrincipal() {
+        if(principal == null)
+            principal = (UserDetailsImplementation) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return principal;
+    }
+
+    /**
+     * Method that checks whether the current logged in principal is an employee
+     * @return - true if the principal has the ROLE_EMPLOYEE authority
+     */
+    public boolean isEmployee() {
+        if(employee == null)
+            employee = "ROLE_EMPLOYEE".equals(getPrincipal().getRole());
+        return employee;
+    }
+
+    /**
+     * Method that returns the customer or employee id of the current logged in principal
+     * @return - account id of the principal
+     */
+    public long getAccountId() {
+        return getPrincipal().getId();
+    }
+
+    /**
+     * Method that returns the customer with the given id , loading it from the database only on the first call in the request ,
+     * the customer is loaded with the summary fetch plan so its associations are only read when they are used
+     * @param customerId - customer id
+     * @return - customer jpa entity format object if present
+     */
+    public Optional<Customer> findCustomer(long customerId) {
+        return customers.computeIfAbsent(customerId, id -> customerRepository.findSummaryById(id));
+    }
+
+    /**
+     * Method that returns the offering of the customer with the given id , this is the lazy reference held by the customer so it
+     * does not need a query of its own until its state is read
+     * @param customerId - customer id
+     * @return - offering jpa entity format object if present
+     */
+    public Optional<Offering> findOffering(long customerId) {
+        return findCustomer(customerId).map(Customer::getOffering);
+    }
+
+    /**
+     * Method that drops the customer resolved for the request , needs to be called after the customer is removed
+     * @param customerId - customer id
+     */
+    public void evictCustomer(long customerId) {
+        customers.remove(customerId);
+    }
+
+}
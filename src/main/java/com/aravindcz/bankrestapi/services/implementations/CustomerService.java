@@ -1,26 +1,28 @@
 package com.aravindcz.bankrestapi.services.implementations;
 
+import com.aravindcz.bankrestapi.configurations.PrincipalCache;
 import com.aravindcz.bankrestapi.exceptions.*;
 import com.aravindcz.bankrestapi.models.dtos.CustomerDTO;
 import com.aravindcz.bankrestapi.models.dtos.ResponseDTO;
+import com.aravindcz.bankrestapi.models.dtos.StreamingResponseDTO;
 import com.aravindcz.bankrestapi.models.dtos.UserDTO;
 import com.aravindcz.bankrestapi.models.entities.Customer;
 import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
-import com.mindstix.bankrestapi.exceptions.*;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import com.aravindcz.bankrestapi.models.mappers.CustomerMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  *
@@ -33,43 +35,60 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class CustomerService {
 
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$");
+
     @Autowired
     private CustomerRepository customerRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    private CustomerMapper customerMapper;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private CallerContext callerContext;
+
+    @Autowired
+    private KeysetPagination keysetPagination;
+
+    @Autowired
+    private EntityTags entityTags;
 
 
     /**
-     * Method to convert customer data transfer object to customer jpa entity format object using model mapper
+     * Method to convert customer data transfer object to customer jpa entity format object using the generated mapper
      * @param customerDTO - customer data transfer object
      * @return customer jpa entity format object
      */
     private Customer convertCustomerDTOToCustomer(CustomerDTO customerDTO){
-        Customer customer = modelMapper.map(customerDTO,Customer.class);
+        Customer customer = customerMapper.toCustomer(customerDTO);
         return customer;
     }
 
     /**
-     * Method to convert customer jpa entity format object to customer data transfer object using model mapper
+     * Method to convert customer jpa entity format object to customer data transfer object using the generated mapper
      * @param customer - customer jpa entity format object
      * @return customer data transfer object
      */
     private CustomerDTO convertCustomerToCustomerDTO(Customer customer){
-        CustomerDTO customerDTO = modelMapper.map(customer,CustomerDTO.class);
+        CustomerDTO customerDTO = customerMapper.toCustomerDTO(customer);
         return customerDTO;
     }
 
 
     /**
-     * Method to convert user data transfer object to customer jpa entity format object using model mapper mainly used for registeration
+     * Method to convert user data transfer object to customer jpa entity format object using the generated mapper mainly used for registeration
      * of user
      * @param userDTO - user data transfer object
      * @return customer jpa entity format object
      */
     private Customer convertUserDTOToCustomer(UserDTO userDTO){
 
-        Customer customer = modelMapper.map(userDTO,Customer.class);
+        Customer customer = customerMapper.toCustomer(userDTO);
 
         return customer;
 
@@ -77,27 +96,30 @@ public class CustomerService {
 
 
     /**
-     * Method to ensure that the current logged in customer is authorized to access and perform operation on the resource
+     * Method to ensure that the current logged in customer is authorized to access and perform operation on the resource , the
+     * id is compared with the account id carried by the principal and the customer is then looked up through the caller context ,
+     * a token or cached principal outliving its customer is refused here , the lookup is served by the second level cache when it
+     * is warm and the later steps of the request reuse it
      * @param id - customer id
      * @throws  if user should be forbidden from doing operation on the resource
      */
     public void validateCustomer(long id) throws Exception {
-        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
-        if(userDetails.getAuthorities()
-                .stream()
-                .filter(grantedAuthority -> grantedAuthority.getAuthority().equals("ROLE_EMPLOYEE")).count() > 0)
+        if(callerContext.isEmployee())
             return;
 
+        if(callerContext.getAccountId() != id)
+            throw new UnauthorizedCustomerException();
+
         Optional<Customer> optionalCustomer;
 
         try {
-            optionalCustomer = customerRepository.findById(id);
+            optionalCustomer = callerContext.findCustomer(id);
         } catch (Exception e){
-            throw  new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
-        if((!optionalCustomer.isPresent()) || (!(userDetails.getUsername().equals(optionalCustomer.get().getEmail()))))
+        if(!optionalCustomer.isPresent())
             throw new UnauthorizedCustomerException();
     }
 
@@ -107,9 +129,8 @@ public class CustomerService {
      * @throws InvalidEmailAddressException - if the email address is not RFC regex complaint
      */
     private void validateEmail(String email) throws InvalidEmailAddressException {
-        String regexPattern = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$";
 
-        boolean isValid = Pattern.compile(regexPattern)
+        boolean isValid = EMAIL_PATTERN
                 .matcher(email)
                 .matches();
 
@@ -122,7 +143,7 @@ public class CustomerService {
      * Method to save the customer details to database
      * @param customerDTO - customer data transfer object
      * @return - custom response entity showing the result of evaluation
-     * @throws Exception when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
     public ResponseEntity save(CustomerDTO customerDTO) throws Exception {
 
@@ -131,9 +152,9 @@ public class CustomerService {
         Optional<Customer> optionalCustomer;
 
         try {
-            optionalCustomer = customerRepository.findById(customerDTO.getId());
+            optionalCustomer = callerContext.findCustomer(customerDTO.getId());
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         //check if customer details are already added
@@ -143,13 +164,14 @@ public class CustomerService {
         //adding customer details to the database
         try {
             Customer customer = convertCustomerDTOToCustomer(customerDTO);
-            UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            UserDetails userDetails = callerContext.getPrincipal();
             customer.setEmail(userDetails.getUsername());
-            customer.setPassword(userDetails.getPassword());
+            //token authenticated principals carry no password so the registered one is kept
+            customer.setPassword(optionalCustomer.map(Customer::getPassword).orElse(userDetails.getPassword()));
             customer.setRole("ROLE_CUSTOMER");
             customerRepository.save(customer);
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         ResponseDTO responseDTO = new ResponseDTO(true,201,"Customer details successfully added",customerDTO);
@@ -160,67 +182,96 @@ public class CustomerService {
 
 
     /**
-     * Method to find all the customers from the database
-     * @return list of CustomerDTOs
-     * @throws Exception when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * Method to find a page of customers from the database ordered by id , each page is read with a keyset query so the cost does
+     * not grow with the size of the table
+     * @param cursor - cursor returned with the previous page , null for the first page
+     * @param size - page size requested , null for the default page size
+     * @return list of CustomerDTOs along with the cursor of the next page
+     * @throws Exception when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity findAll() throws Exception {
+    @Transactional(readOnly = true)
+    public ResponseEntity findAll(String cursor,Integer size) throws Exception {
 
+        int pageSize = keysetPagination.pageSize(size);
+        long afterId = keysetPagination.afterId(cursor);
 
         List<Customer> customerList;
 
         try {
-            customerList = customerRepository.findAll();
+            customerList = customerRepository.findByIdGreaterThanOrderByIdAsc(afterId,keysetPagination.pageable(pageSize));
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
-        List<CustomerDTO> customerDTOList = customerList.stream()
-                .map((customer) -> convertCustomerToCustomerDTO(customer))
-                .collect(Collectors.toList());
+        String nextCursor = keysetPagination.nextCursor(customerList,pageSize,Customer::getId);
 
-        ResponseDTO responseDTO = new ResponseDTO(true,200,"Customer details successfully retrieved",customerDTOList);
+        //the customers are loaded with their details so they can be converted while the response is written
+        ResponseDTO responseDTO = new StreamingResponseDTO<>(200,"Customer details successfully retrieved",customerList,
+                this::convertCustomerToCustomerDTO,nextCursor);
         ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
 
         return responseEntity;
     }
 
     /**
-     * Method to find each of the customer based on id
+     * Method to find each of the customer based on id , when the client sends the entity tag it already has the version is read
+     * with the cached summary lookup and a 304 is returned without loading the associations if the customer did not change ,
+     * every update writes new branch , card and address rows so the customer version also covers them
      * @param id - customer id
+     * @param ifNoneMatch - If-None-Match header value , may be null
      * @return - custom response entity containing CustomerDTO
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity findById(long id) throws Exception {
+    @Transactional(readOnly = true)
+    public ResponseEntity findById(long id,String ifNoneMatch) throws Exception {
 
         validateCustomer(id);
 
         Optional<Customer> optionalCustomer;
 
+        if(ifNoneMatch != null) {
+            try {
+                optionalCustomer = callerContext.findCustomer(id);
+            } catch (Exception e){
+                throw ServiceFailureException.wrap(e);
+            }
+
+            if(optionalCustomer.isPresent()) {
+                String eTag = entityTags.of(optionalCustomer.get().getVersion());
+
+                if(entityTags.isNotModified(ifNoneMatch,eTag))
+                    return entityTags.notModified(eTag);
+            }
+        }
+
         try {
-            optionalCustomer = customerRepository.findById(id);
+            optionalCustomer = customerRepository.findDetailById(id);
         } catch (Exception e){
-            throw  new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
-
+        if(!optionalCustomer.isPresent())
+            throw new CustomerNotFoundException();
 
         CustomerDTO customerDTO = convertCustomerToCustomerDTO(optionalCustomer.get());
+        String eTag = entityTags.of(optionalCustomer.get().getVersion());
 
         ResponseDTO responseDTO = new ResponseDTO(true,200,"Customer details successfully retrieved",customerDTO);
-        ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
+        ResponseEntity responseEntity = new ResponseEntity(responseDTO,entityTags.headers(eTag),HttpStatus.OK);
 
         return responseEntity;
     }
 
     /**
-     * Method to update customer detials based on id
+     * Method to update customer detials based on id , the update is refused if the customer changed since the version the client
+     * sent in If-Match or since it was read here
      * @param id - customerId
      * @param customerDTO - customer details input by user
+     * @param ifMatch - If-Match header value , may be null
      * @return - response entity consisting of the updated customer details
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity update(long id,CustomerDTO customerDTO) throws Exception {
+    public ResponseEntity update(long id,CustomerDTO customerDTO,String ifMatch) throws Exception {
 
         if(id!=customerDTO.getId())
             throw new InconsistentDetailsException();
@@ -232,12 +283,17 @@ public class CustomerService {
 
 
         try {
-            optionalCustomer = customerRepository.findById(customerDTO.getId());
+            optionalCustomer = callerContext.findCustomer(customerDTO.getId());
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
-        UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if(!optionalCustomer.isPresent())
+            throw new CustomerNotFoundException();
+
+        entityTags.checkIfMatch(ifMatch,optionalCustomer.get().getVersion());
+
+        UserDetails userDetails = callerContext.getPrincipal();
 
 
 
@@ -245,11 +301,16 @@ public class CustomerService {
         try {
             Customer customer = convertCustomerDTOToCustomer(customerDTO);
             customer.setEmail(userDetails.getUsername());
-            customer.setPassword(userDetails.getPassword());
+            customer.setPassword(optionalCustomer.map(Customer::getPassword).orElse(userDetails.getPassword()));
             customer.setRole("ROLE_CUSTOMER");
+            //the version read above is the one checked by the update statement so a concurrent update is not overwritten
+            customer.setVersion(optionalCustomer.get().getVersion());
             customerRepository.save(customer);
+            principalCache.invalidate(customer.getEmail());
+        } catch (ObjectOptimisticLockingFailureException e){
+            throw new ConcurrentUpdateException();
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         ResponseDTO responseDTO = new ResponseDTO(true,200,"Customer details successfully updated",customerDTO);
@@ -259,66 +320,89 @@ public class CustomerService {
     }
 
     /**
-     * Method to delete the customer based on the customer id supplied
+     * Method to delete the customer based on the customer id supplied , the delete is refused if the customer changed since the
+     * version the client sent in If-Match
      * @param id - customer id
+     * @param ifMatch - If-Match header value , may be null
      * @return - custom response entity
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity deleteById(long id) throws Exception {
+    public ResponseEntity deleteById(long id,String ifMatch) throws Exception {
 
         validateCustomer(id);
 
         Optional<Customer> optionalCustomer;
 
+        try {
+            optionalCustomer = callerContext.findCustomer(id);
+        } catch (Exception e){
+            throw ServiceFailureException.wrap(e);
+        }
+
+        if(optionalCustomer.isPresent())
+            entityTags.checkIfMatch(ifMatch,optionalCustomer.get().getVersion());
+
 
         try {
                 customerRepository.deleteById(id);
+                callerContext.evictCustomer(id);
+                optionalCustomer.ifPresent(customer -> principalCache.invalidate(customer.getEmail()));
                 ResponseDTO responseDTO = new ResponseDTO(true,200,"Customer details successfully removed",null);
                 ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
 
                 return responseEntity;
+        } catch (ObjectOptimisticLockingFailureException e){
+            throw new ConcurrentUpdateException();
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
     }
 
 
     /**
-     * Method which creates a customer account
+     * Method which creates a customer account , the email is checked against the database only when the registered email filter
+     * reports it as possibly taken and the unique email index settles concurrent registrations of the same email
      * @param userDTO - user details like email and password input by the user
      * @return - custom response entity containing customer id
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
     public ResponseEntity createAccount(UserDTO userDTO) throws Exception {
 
         validateEmail(userDTO.getEmail());
 
-        Optional<Customer> optionalCustomer;
+        boolean alreadyRegistered;
         long id;
 
         try {
-            optionalCustomer = customerRepository.findByEmail(userDTO.getEmail());
+            alreadyRegistered = registeredEmailFilter.mightBeRegisteredCustomer(userDTO.getEmail())
+                    && customerRepository.existsByEmail(userDTO.getEmail());
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
-        if(optionalCustomer.isPresent())
+        if(alreadyRegistered)
             throw new EmailAlreadyRegisteredException();
 
         try {
             Customer customer = convertUserDTOToCustomer(userDTO);
-            customerRepository.save(customer);
-            id=customerRepository.findByEmail(userDTO.getEmail()).get().getId();
+            id=customerRepository.save(customer).getId();
+        } catch (DataIntegrityViolationException e){
+            //a concurrent registration took the email after it was checked , other violations are failures
+            if(UniqueConstraints.isViolated(e,UniqueConstraints.CUSTOMER_EMAIL))
+                throw new EmailAlreadyRegisteredException();
+            throw ServiceFailureException.wrap(e);
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
-        ResponseDTO responseDTO = new ResponseDTO(true,201,"Customer account successfully created",new Long(id));
+        registeredEmailFilter.addCustomer(userDTO.getEmail());
+        principalCache.invalidate(userDTO.getEmail());
+
+        ResponseDTO responseDTO = new ResponseDTO(true,201,"Customer account successfully created",id);
         ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.CREATED);
 
         return responseEntity;
-
     }
 
 
@@ -1,25 +1,27 @@
 package com.aravindcz.bankrestapi.services.implementations;
 
+import com.aravindcz.bankrestapi.configurations.PrincipalCache;
 import com.aravindcz.bankrestapi.exceptions.*;
-import com.mindstix.bankrestapi.exceptions.*;
 import com.aravindcz.bankrestapi.models.dtos.EmployeeDTO;
 import com.aravindcz.bankrestapi.models.dtos.ResponseDTO;
+import com.aravindcz.bankrestapi.models.dtos.StreamingResponseDTO;
 import com.aravindcz.bankrestapi.models.dtos.UserDTO;
 import com.aravindcz.bankrestapi.models.entities.Employee;
 import com.aravindcz.bankrestapi.repositories.interfaces.EmployeeRepository;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import com.aravindcz.bankrestapi.models.mappers.EmployeeMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 /**
  *
  * EmployeeService - provides methods which provides functionality for to and fro conversion of entity and dto , validation checks
@@ -30,11 +32,22 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class EmployeeService {
 
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$");
+
     @Autowired
     private EmployeeRepository employeeRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    private EmployeeMapper employeeMapper;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    private KeysetPagination keysetPagination;
 
 
     /**
@@ -43,7 +56,7 @@ public class EmployeeService {
      * @return - employee jpa entity format object
      */
     private Employee convertEmployeeDTOToEmployee(EmployeeDTO employeeDTO){
-        Employee employee = modelMapper.map(employeeDTO,Employee.class);
+        Employee employee = employeeMapper.toEmployee(employeeDTO);
         return employee;
     }
 
@@ -53,7 +66,7 @@ public class EmployeeService {
      * @return - employee data transfer object
      */
     private EmployeeDTO convertEmployeeToEmployeeDTO(Employee employee){
-        EmployeeDTO employeeDTO = modelMapper.map(employee,EmployeeDTO.class);
+        EmployeeDTO employeeDTO = employeeMapper.toEmployeeDTO(employee);
         return employeeDTO;
     }
 
@@ -64,7 +77,7 @@ public class EmployeeService {
      */
     private Employee convertUserDTOToEmployee(UserDTO userDTO){
 
-        Employee employee = modelMapper.map(userDTO,Employee.class);
+        Employee employee = employeeMapper.toEmployee(userDTO);
 
         return employee;
 
@@ -74,20 +87,23 @@ public class EmployeeService {
      * Method to validate if the id is assoicated with this employee so as to verify that the employee is authorized to perform
      * the operation on the resource
      * @param id - employee id
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @return - employee jpa entity format object of the current logged in employee
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    private void validateEmployee(long id) throws Exception {
+    private Employee validateEmployee(long id) throws Exception {
         Optional<Employee> optionalEmployee;
 
         try {
             optionalEmployee = employeeRepository.findById(id);
         } catch (Exception e){
-            throw  new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         if((!optionalEmployee.isPresent()) || (!(userDetails.getUsername().equals(optionalEmployee.get().getEmail()))))
             throw new UnauthorizedEmployeeException();
+
+        return optionalEmployee.get();
     }
 
     /**
@@ -96,9 +112,8 @@ public class EmployeeService {
      * @throws InvalidEmailAddressException - if the email address is not RFC regex complaint
      */
     private void validateEmail(String email) throws InvalidEmailAddressException {
-        String regexPattern = "^[a-zA-Z0-9_!#$%&'*+/=?`{|}~^.-]+@[a-zA-Z0-9.-]+$";
 
-        boolean isValid = Pattern.compile(regexPattern)
+        boolean isValid = EMAIL_PATTERN
                 .matcher(email)
                 .matches();
 
@@ -111,7 +126,7 @@ public class EmployeeService {
      * Method to save the employee details to the database
      * @param employeeDTO - employee data transfer object
      * @return - custom response entity consisting of employee id which corresponds to the employee saved in the database
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
     public ResponseEntity save(EmployeeDTO employeeDTO) throws Exception {
 
@@ -122,7 +137,7 @@ public class EmployeeService {
         try {
             optionalEmployee = employeeRepository.findById(employeeDTO.getId());
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         if(optionalEmployee.isPresent() && optionalEmployee.get().getName()!=null)
@@ -132,11 +147,12 @@ public class EmployeeService {
             Employee employee = convertEmployeeDTOToEmployee(employeeDTO);
             UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
             employee.setEmail(userDetails.getUsername());
-            employee.setPassword(userDetails.getPassword());
+            //token authenticated principals carry no password so the registered one is kept
+            employee.setPassword(optionalEmployee.map(Employee::getPassword).orElse(userDetails.getPassword()));
             employee.setRole("ROLE_EMPLOYEE");
             employeeRepository.save(employee);
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         ResponseDTO responseDTO = new ResponseDTO(true,201,"Employee details successfully added",employeeDTO);
@@ -147,32 +163,44 @@ public class EmployeeService {
 
 
     /**
-     * Method that returns all the employees in the database
-     * @return - custom response entity consisting of the entire list of employee data transfer objects
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * Method that returns a page of the employees in the database ordered by id , each page is read with a keyset query so the
+     * cost does not grow with the size of the table
+     * @param cursor - cursor returned with the previous page , null for the first page
+     * @param size - page size requested , null for the default page size
+     * @return - custom response entity consisting of the page of employee data transfer objects and the cursor of the next page
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity findAll() throws Exception {
+    @Transactional(readOnly = true)
+    public ResponseEntity findAll(String cursor,Integer size) throws Exception {
+
+        int pageSize = keysetPagination.pageSize(size);
+        long afterId = keysetPagination.afterId(cursor);
+
         List<Employee> employeeList;
 
         try {
-            employeeList = employeeRepository.findAll();
+            employeeList = employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId,keysetPagination.pageable(pageSize));
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
-        List<EmployeeDTO> employeeDTOList = employeeList.stream()
-                .map((employee) -> convertEmployeeToEmployeeDTO(employee))
-                .collect(Collectors.toList());
+        String nextCursor = keysetPagination.nextCursor(employeeList,pageSize,Employee::getId);
 
-        return new ResponseEntity(employeeDTOList,HttpStatus.OK);
+        //the employees are loaded with their details so they can be converted while the response is written
+        ResponseDTO responseDTO = new StreamingResponseDTO<>(200,"Employee details successfully retrieved",employeeList,
+                this::convertEmployeeToEmployeeDTO,nextCursor);
+        ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
+
+        return responseEntity;
     }
 
     /**
      * Method to find a specific employee details based on the employee id provided
      * @param id - employee id
      * @return - custom response entity consisting of the employee data transfer object
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
+    @Transactional(readOnly = true)
     public ResponseEntity findById(long id) throws Exception {
 
         validateEmployee(id);
@@ -180,9 +208,9 @@ public class EmployeeService {
         Optional<Employee> optionalEmployee;
 
         try {
-            optionalEmployee = employeeRepository.findById(id);
+            optionalEmployee = employeeRepository.findDetailById(id);
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         if(!optionalEmployee.isPresent())
@@ -203,14 +231,14 @@ public class EmployeeService {
      * @param id - employee id
      * @param employeeDTO - employee data transfer object
      * @return - custom response entity consisting of the updated employee data transfer object
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
     public ResponseEntity update(long id,EmployeeDTO employeeDTO) throws Exception {
 
         if(id!=employeeDTO.getId())
             throw new InconsistentDetailsException();
 
-        validateEmployee(id);
+        Employee existingEmployee = validateEmployee(id);
 
         UserDetails userDetails = (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
@@ -218,11 +246,12 @@ public class EmployeeService {
         try {
             Employee employee = convertEmployeeDTOToEmployee(employeeDTO);
             employee.setEmail(userDetails.getUsername());
-            employee.setPassword(userDetails.getPassword());
+            employee.setPassword(existingEmployee.getPassword());
             employee.setRole("ROLE_EMPLOYEE");
             employeeRepository.save(employee);
+            principalCache.invalidate(employee.getEmail());
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         ResponseDTO responseDTO = new ResponseDTO(true,200,"Employee details successfully updated",employeeDTO);
@@ -235,7 +264,7 @@ public class EmployeeService {
      * Method that deletes employee details based on the id provided
      * @param id - employee id
      * @return - custom response entity consisting of the status of operation
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
     public ResponseEntity deleteById(long id) throws Exception {
 
@@ -247,50 +276,61 @@ public class EmployeeService {
             if(!employeeRepository.existsById(id))
                 throw new EmployeeNotFoundException();
             else {
+                optionalEmployee = employeeRepository.findById(id);
                 employeeRepository.deleteById(id);
+                optionalEmployee.ifPresent(employee -> principalCache.invalidate(employee.getEmail()));
                 ResponseDTO responseDTO = new ResponseDTO(true,200,"Employee details successfully removed",null);
                 ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
                 return responseEntity;
             }
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
     }
 
 
     /**
-     * Method used to register an employee based on email and password
-     * @param userDTO - user data tranfer object
-     * @return - custom response entity that returns the employee id
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * Method used to register an employee based on email and password , the email is checked against the database only when
+     * the registered email filter reports it as possibly taken and the unique email index settles concurrent registrations of
+     * the same email
+     * @param userDTO - user details like email and password input by the user
+     * @return - custom response entity containing the employee id
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
     public ResponseEntity createAccount(UserDTO userDTO) throws Exception {
 
         validateEmail(userDTO.getEmail());
 
-        Optional<Employee> optionalEmployee;
+        boolean alreadyRegistered;
         long id;
 
         try {
-            optionalEmployee = employeeRepository.findByEmail(userDTO.getEmail());
+            alreadyRegistered = registeredEmailFilter.mightBeRegisteredEmployee(userDTO.getEmail())
+                    && employeeRepository.existsByEmail(userDTO.getEmail());
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
-        if(optionalEmployee.isPresent())
+        if(alreadyRegistered)
             throw new EmailAlreadyRegisteredException();
 
-
         try {
             Employee employee = convertUserDTOToEmployee(userDTO);
-            employeeRepository.save(employee);
-            id=employeeRepository.findByEmail(userDTO.getEmail()).get().getId();
+            id=employeeRepository.save(employee).getId();
+        } catch (DataIntegrityViolationException e){
+            //a concurrent registration took the email after it was checked , other violations are failures
+            if(UniqueConstraints.isViolated(e,UniqueConstraints.EMPLOYEE_EMAIL))
+                throw new EmailAlreadyRegisteredException();
+            throw ServiceFailureException.wrap(e);
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
-        ResponseDTO responseDTO = new ResponseDTO(true,201,"Employee account successfully created",new Long(id));
+        registeredEmailFilter.addEmployee(userDTO.getEmail());
+        principalCache.invalidate(userDTO.getEmail());
+
+        ResponseDTO responseDTO = new ResponseDTO(true,201,"Employee account successfully created",id);
         ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.CREATED);
 
         return responseEntity;
@@ -0,0 +1,212 @@
+package com.aravindcz.bankrestapi.services.implementations;
+
+import com.aravindcz.bankrestapi.exceptions.PreconditionFailedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ *
+ * EntityTags - builds the entity tags of the get endpoints from the optimistic locking versions of the entities and evaluates the
+ * If-None-Match and If-Match request headers against them , a single resource gets a strong tag holding its version and a list gets
+ * a weak tag holding a hash of the ids and versions of its rows , the cbor and smile representations get tags of their own so a cache
+ * never answers a request for one encoding with another , json keeps the bare tag and the responses vary on the Accept header
+ * @author Aravind C
+ */
+@Component
+public class EntityTags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    //encodings in the order of the produces conditions of the controllers , the first one a media type includes is the one written
+    private static final List<MediaType> ENCODINGS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR,
+            MediaType.valueOf("application/x-jackson-smile"));
+
+    private static final List<String> SUFFIXES = List.of("", "-cbor", "-smile");
+
+    /**
+     * Method that returns the entity tag of a single resource in the encoding the current request accepts
+     * @param version - optimistic locking version of the entity
+     * @return - strong entity tag
+     */
+    public String of(long version) {
+        return of(version,accept());
+    }
+
+    /**
+     * Method that returns the entity tag of a single resource in the encoding a request with the given Accept header gets
+     * @param version - optimistic locking version of the entity
+     * @param accept - Accept header value , may be null
+     * @return - strong entity tag
+     */
+    String of(long version, String accept) {
+        return "\"" + version + SUFFIXES.get(encoding(accept)) + "\"";
+    }
+
+    /**
+     * Method that returns the entity tag of a list of resources , the hash does not depend on the order of the rows so the tag
+     * worked out from a version projection matches the one worked out from the loaded entities
+     * @param rows - rows of the list
+     * @param id - function returning the id of a row
+     * @param version - function returning the optimistic locking version of a row
+     * @return - weak entity tag
+     */
+    public <T> String of(Collection<T> rows, ToLongFunction<T> id, ToLongFunction<T> version) {
+        return of(rows,id,version,accept());
+    }
+
+    /**
+     * Method that returns the entity tag of a list of resources in the encoding a request with the given Accept header gets
+     * @param rows - rows of the list
+     * @param id - function returning the id of a row
+     * @param version - function returning the optimistic locking version of a row
+     * @param accept - Accept header value , may be null
+     * @return - weak entity tag
+     */
+    <T> String of(Collection<T> rows, ToLongFunction<T> id, ToLongFunction<T> version, String accept) {
+
+        long hash = rows.size();
+
+        for(T row : rows)
+            hash += mix(id.applyAsLong(row) * 31 + version.applyAsLong(row));
+
+        return WEAK_PREFIX + "\"" + Long.toHexString(hash) + SUFFIXES.get(encoding(accept)) + "\"";
+    }
+
+    /**
+     * Method that checks the If-None-Match header of a get request , entity tags are compared weakly as the header requires
+     * @param ifNoneMatch - If-None-Match header value , may be null
+     * @param eTag - current entity tag of the resource
+     * @return - true if the client already has the current representation
+     */
+    public boolean isNotModified(String ifNoneMatch, String eTag) {
+
+        if(ifNoneMatch == null)
+            return false;
+
+        for(String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if(candidate.equals("*") || opaque(candidate).equals(opaque(eTag)))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Method that checks the If-Match header of an update or delete request , entity tags are compared strongly so a weak tag never
+     * matches , the tag of the current version in any encoding does as the update does not depend on it , requests without the header
+     * are let through
+     * @param ifMatch - If-Match header value , may be null
+     * @param version - current optimistic locking version of the entity
+     * @throws PreconditionFailedException - if the entity was changed since the client read it
+     */
+    public void checkIfMatch(String ifMatch, long version) throws PreconditionFailedException {
+
+        if(ifMatch == null)
+            return;
+
+        for(String candidate : ifMatch.split(",")) {
+            candidate = candidate.trim();
+            if(candidate.equals("*"))
+                return;
+            for(String suffix : SUFFIXES)
+                if(candidate.equals("\"" + version + suffix + "\""))
+                    return;
+        }
+
+        throw new PreconditionFailedException();
+    }
+
+    /**
+     * Method that returns the response headers carrying an entity tag
+     * @param eTag - entity tag of the resource
+     * @return - http headers with the ETag and Vary headers set
+     */
+    public HttpHeaders headers(String eTag) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setETag(eTag);
+        httpHeaders.setVary(List.of(HttpHeaders.ACCEPT));
+        return httpHeaders;
+    }
+
+    /**
+     * Method that returns the 304 response sent instead of a representation the client already has , it has no body so nothing
+     * gets serialized
+     * @param eTag - entity tag of the resource
+     * @return - response entity with the not modified status
+     */
+    public ResponseEntity notModified(String eTag) {
+        return new ResponseEntity(headers(eTag), HttpStatus.NOT_MODIFIED);
+    }
+
+    //the accept header of the servlet request being served , the reactive read api only writes json and has no such request
+    private static String accept() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return requestAttributes instanceof ServletRequestAttributes servletRequestAttributes
+                ? servletRequestAttributes.getRequest().getHeader(HttpHeaders.ACCEPT) : null;
+    }
+
+    //index of the encoding written for the accept header , the accepted type with the highest quality wins and a concrete type wins
+    //over a wildcard of the same quality , like the content negotiation of spring does for the produces conditions
+    private static int encoding(String accept) {
+
+        if(accept == null)
+            return 0;
+
+        List<MediaType> mediaTypes;
+
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e){
+            return 0;
+        }
+
+        int selected = 0;
+        MediaType selectedMediaType = null;
+
+        for(MediaType mediaType : mediaTypes) {
+            if(mediaType.getQualityValue() == 0)
+                continue;
+
+            for(int index = 0; index < ENCODINGS.size(); index++) {
+                if(!mediaType.includes(ENCODINGS.get(index)))
+                    continue;
+
+                if(selectedMediaType == null || mediaType.getQualityValue() > selectedMediaType.getQualityValue()
+                        || (mediaType.getQualityValue() == selectedMediaType.getQualityValue()
+                        && selectedMediaType.isWildcardSubtype() && !mediaType.isWildcardSubtype())) {
+                    selected = index;
+                    selectedMediaType = mediaType;
+                }
+                break;
+            }
+        }
+
+        return selected;
+    }
+
+    private static String opaque(String eTag) {
+        return eTag.startsWith(WEAK_PREFIX) ? eTag.substring(WEAK_PREFIX.length()) : eTag;
+    }
+
+    //finalizer of the 64 bit murmur hash , spreads every input bit over the result so the sum of the rows does not collide easily
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,143 @@
+package com.aravindcz.bankrestapi.services.implementations;
+
+import com.aravindcz.bankrestapi.configurations.ReplicaRouting;
+import com.aravindcz.bankrestapi.models.mappers.CustomerMapper;
+import com.aravindcz.bankrestapi.models.mappers.OfferingMapper;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.aravindcz.bankrestapi.repositories.interfaces.LoanRepository;
+import com.aravindcz.bankrestapi.repositories.interfaces.LockerRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ *
+ * ExportService - provides the newline delimited json exports of the customers , loans and lockers , rows are read through a
+ * repository stream inside a read only transaction and written to the response one by one , the persistence context is cleared
+ * every CLEAR_INTERVAL rows so the memory used does not depend on the number of rows exported
+ * @author Aravind C
+ */
+@Service
+public class ExportService {
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LockerRepository lockerRepository;
+
+    @Autowired
+    private CustomerMapper customerMapper;
+
+    @Autowired
+    private OfferingMapper offeringMapper;
+
+    private final ObjectWriter objectWriter;
+
+    private final JsonFactory jsonFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportService(PlatformTransactionManager transactionManager, ObjectMapper objectMapper) {
+        //rows are flushed in batches of CLEAR_INTERVAL instead of after every row
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.jsonFactory = objectMapper.getFactory();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Method that returns the export of all the customers
+     * @return - response body writing one customer data transfer object per line
+     */
+    public StreamingResponseBody exportCustomers() {
+        return outputStream -> export(customerRepository::streamAll, customerMapper::toCustomerDTO, outputStream);
+    }
+
+    /**
+     * Method that returns the export of all the loans
+     * @return - response body writing one loan data transfer object per line
+     */
+    public StreamingResponseBody exportLoans() {
+        return outputStream -> export(loanRepository::streamAll, offeringMapper::toLoanDTO, outputStream);
+    }
+
+    /**
+     * Method that returns the export of all the lockers
+     * @return - response body writing one locker data transfer object per line
+     */
+    public StreamingResponseBody exportLockers() {
+        return outputStream -> export(lockerRepository::streamAll, offeringMapper::toLockerDTO, outputStream);
+    }
+
+    /**
+     * Method that writes every row of a repository stream to the output stream as a line of json , runs on the thread writing
+     * the response so it opens a transaction of its own
+     * @param rows - repository stream of the jpa entities to be exported
+     * @param mapper - function converting a jpa entity to its data transfer object
+     * @param outputStream - response output stream
+     * @throws IOException - when the client goes away or the response cannot be written
+     */
+    private <T> void export(Supplier<Stream<T>> rows, Function<T, ?> mapper, OutputStream outputStream) throws IOException {
+
+        try (JsonGenerator jsonGenerator = jsonFactory.createGenerator(outputStream)) {
+
+            jsonGenerator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            jsonGenerator.setRootValueSeparator(null);
+
+            //exports are the heaviest reads so they go to the read replica when one is configured
+            Boolean previous = ReplicaRouting.enter();
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+
+                    long count = 0;
+
+                    try (Stream<T> stream = rows.get()) {
+                        for (T row : (Iterable<T>) stream::iterator) {
+
+                            objectWriter.writeValue(jsonGenerator, mapper.apply(row));
+                            jsonGenerator.writeRaw('\n');
+
+                            if (++count % CLEAR_INTERVAL == 0) {
+                                entityManager.clear();
+                                jsonGenerator.flush();
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } finally {
+                ReplicaRouting.exit(previous);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.aravindcz.bankrestapi.services.implementations;
+
+import com.aravindcz.bankrestapi.exceptions.InconsistentDetailsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ *
+ * KeysetPagination - provides the page size limits and the opaque cursors used by the list endpoints , a cursor carries the id of
+ * the last row returned so the next page is read with an id greater than query on the primary key instead of an offset
+ * @author Aravind C
+ */
+@Component
+public class KeysetPagination {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final int defaultPageSize;
+
+    private final int maximumPageSize;
+
+    public KeysetPagination(@Value("${pagination.default-page-size}") int defaultPageSize,
+                            @Value("${pagination.maximum-page-size}") int maximumPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maximumPageSize = maximumPageSize;
+    }
+
+    /**
+     * Method that returns the number of rows to return for the requested page size , capped at the maximum page size
+     * @param size - page size requested by the client , may be null
+     * @return - page size to be used
+     * @throws InconsistentDetailsException - if the requested page size is not positive
+     */
+    public int pageSize(Integer size) throws InconsistentDetailsException {
+        if(size == null)
+            return defaultPageSize;
+
+        if(size < 1)
+            throw new InconsistentDetailsException();
+
+        return Math.min(size, maximumPageSize);
+    }
+
+    /**
+     * Method that returns the page request for a page , one extra row is read to find out whether a next page exists
+     * @param pageSize - page size returned by pageSize
+     * @return - pageable limiting the query
+     */
+    public Pageable pageable(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    /**
+     * Method that decodes the id the next page starts after
+     * @param cursor - cursor returned with the previous page , null for the first page
+     * @return - id of the last row of the previous page
+     * @throws InconsistentDetailsException - if the cursor was not issued by this api
+     */
+    public long afterId(String cursor) throws InconsistentDetailsException {
+        if(cursor == null)
+            return 0;
+
+        try {
+            byte[] bytes = DECODER.decode(cursor);
+
+            if(bytes.length != Long.BYTES)
+                throw new InconsistentDetailsException();
+
+            return ByteBuffer.wrap(bytes).getLong();
+        } catch (IllegalArgumentException e){
+            throw new InconsistentDetailsException();
+        }
+    }
+
+    /**
+     * Method that trims the extra row read for a page and returns the cursor of the next page
+     * @param rows - rows read with the pageable returned by pageable , trimmed to the page size in place
+     * @param pageSize - page size returned by pageSize
+     * @param id - function returning the id of a row
+     * @return - cursor of the next page or null if this is the last page
+     */
+    public <T> String nextCursor(List<T> rows, int pageSize, ToLongFunction<T> id) {
+        if(rows.size() <= pageSize)
+            return null;
+
+        rows.subList(pageSize, rows.size()).clear();
+
+        return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id.applyAsLong(rows.get(pageSize - 1))).array());
+    }
+
+}
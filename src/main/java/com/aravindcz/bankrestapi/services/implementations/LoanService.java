@@ -1,27 +1,35 @@
 package com.aravindcz.bankrestapi.services.implementations;
 
 
+import com.aravindcz.bankrestapi.exceptions.ConcurrentUpdateException;
 import com.aravindcz.bankrestapi.exceptions.InconsistentDetailsException;
 import com.aravindcz.bankrestapi.exceptions.LoanAlreadyPresentException;
-import com.aravindcz.bankrestapi.exceptions.LoanNotFoundException;
+import com.aravindcz.bankrestapi.exceptions.OfferingNotFoundException;
+import com.aravindcz.bankrestapi.exceptions.ServiceFailureException;
 import com.aravindcz.bankrestapi.exceptions.UnauthorizedCustomerException;
-import com.mindstix.bankrestapi.exceptions.*;
+import com.aravindcz.bankrestapi.models.dtos.BulkItemResultDTO;
 import com.aravindcz.bankrestapi.models.dtos.LoanDTO;
 import com.aravindcz.bankrestapi.models.dtos.ResponseDTO;
+import com.aravindcz.bankrestapi.models.dtos.StreamingResponseDTO;
 import com.aravindcz.bankrestapi.models.entities.Loan;
 import com.aravindcz.bankrestapi.models.entities.Offering;
-import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.aravindcz.bankrestapi.repositories.interfaces.EntityVersion;
 import com.aravindcz.bankrestapi.repositories.interfaces.LoanRepository;
-import com.aravindcz.bankrestapi.repositories.interfaces.OfferingRepository;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import com.aravindcz.bankrestapi.models.mappers.OfferingMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -36,17 +44,21 @@ public class LoanService {
 
     @Autowired
     private LoanRepository loanRepository;
+
     @Autowired
-    private OfferingRepository offeringRepository;
+    private CustomerService customerService;
 
     @Autowired
-    private CustomerRepository customerRepository;
+    private CallerContext callerContext;
 
     @Autowired
-    private CustomerService customerService;
+    private OfferingMapper offeringMapper;
+
+    @Autowired
+    private BulkRequestValidator bulkRequestValidator;
 
     @Autowired
-    ModelMapper modelMapper;
+    private EntityTags entityTags;
 
 
     /**
@@ -58,11 +70,10 @@ public class LoanService {
      */
     private Loan convertLoanDTOToLoan(long customerId, LoanDTO loanDTO) {
 
-        Loan loan = modelMapper.map(loanDTO,Loan.class);
-        Optional<Offering> offering = offeringRepository.findByCustomer_Id(customerId);
-        List<Loan> loanList = offering.get().getLoan();
-        loanList.add(loan);
+        Loan loan = offeringMapper.toLoan(loanDTO);
+        Optional<Offering> offering = callerContext.findOffering(customerId);
 
+        //only the owning side is set so the products already added to the offering are not loaded
         loan.setOffering(offering.get());
 
         return loan;
@@ -77,7 +88,7 @@ public class LoanService {
     private LoanDTO convertLoanToLoanDTO(Loan loan) {
 
 
-        LoanDTO loanDTO = modelMapper.map(loan, LoanDTO.class);
+        LoanDTO loanDTO = offeringMapper.toLoanDTO(loan);
 
         return loanDTO;
 
@@ -85,25 +96,20 @@ public class LoanService {
 
     /**
      * Method that validates loan , checks whether the current customer is authorized enough to do the operation on the current
-     * resource
+     * resource , the loan is looked up by number together with its owning customer in a single query
      * @param customerId
      * @param number - loan number
-     * @throws UnauthorizedCustomerException - if the customer should not be allowed to access the resource
-     * @throws LoanAlreadyPresentException - mainly when trying to create duplicate loans
-     * @throws LoanNotFoundException - mainly when trying to perform operations on non existing loans
+     * @return - loan jpa entity format object owned by the customer
+     * @throws UnauthorizedCustomerException - if the customer should not be allowed to access the resource , a loan that does not
+     * exist is reported the same way as a loan of another customer
      */
-    public void validateLoan(long customerId,long number) throws UnauthorizedCustomerException, LoanAlreadyPresentException, LoanNotFoundException {
-        Optional<Offering> optionalOffering = offeringRepository.findByCustomer_Id(customerId);
-        if(!optionalOffering.isPresent())
-            throw new UnauthorizedCustomerException();
-
-        Optional<Loan> optionalLoan = loanRepository.findByNumber(number);
+    public Loan validateLoan(long customerId,long number) throws UnauthorizedCustomerException {
+        Optional<Loan> optionalLoan = loanRepository.findByNumberAndOffering_Customer_Id(number,customerId);
 
-        if((!optionalLoan.isPresent())||(optionalLoan.get().getOffering().getId()!=optionalOffering.get().getId()))
+        if(!optionalLoan.isPresent())
             throw new UnauthorizedCustomerException();
 
-        if (!optionalLoan.isPresent())
-            throw new LoanNotFoundException();
+        return optionalLoan.get();
     }
 
     /**
@@ -111,7 +117,7 @@ public class LoanService {
      * @param customerId
      * @param loanDTO - loan data transfer object
      * @return - custom response entity consisting of saved loan details
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
     public ResponseEntity save(long customerId, LoanDTO loanDTO) throws Exception {
 
@@ -123,9 +129,14 @@ public class LoanService {
 
         try {
             Loan loan = convertLoanDTOToLoan(customerId, loanDTO);
-            offeringRepository.save(offeringRepository.findByCustomer_Id(customerId).get());
+            loanRepository.save(loan);
+        } catch (DataIntegrityViolationException e) {
+            //a concurrent request took the number after it was checked , other violations are failures
+            if(UniqueConstraints.isViolated(e,UniqueConstraints.LOAN_NUMBER))
+                throw new LoanAlreadyPresentException();
+            throw ServiceFailureException.wrap(e);
         } catch (Exception e) {
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         ResponseDTO responseDTO = new ResponseDTO(true,201,"Loan details successfully added",loanDTO.getNumber());
@@ -136,54 +147,148 @@ public class LoanService {
 
 
     /**
-     * Method that returns all the loans associated with a customer
+     * Method to save a batch of loans to the database in one transaction , the numbers already taken are found with a single
+     * query and every item gets its own result so that invalid or duplicate items do not fail the rest of the batch , the request
+     * only fails when none of the items could be added
+     * @param customerId - customer id
+     * @param loanDTOList - loan data transfer objects
+     * @return - custom response entity consisting of the result of each item
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
+     */
+    public ResponseEntity saveAll(long customerId, List<LoanDTO> loanDTOList) throws Exception {
+
+        customerService.validateCustomer(customerId);
+        bulkRequestValidator.validateSize(loanDTOList);
+
+        Optional<Offering> offering = callerContext.findOffering(customerId);
+
+        if(!offering.isPresent())
+            throw new OfferingNotFoundException();
+
+        Set<Long> existingNumbers;
+
+        try {
+            existingNumbers = loanRepository.findExistingNumbers(loanDTOList.stream()
+                    .map(LoanDTO::getNumber)
+                    .collect(Collectors.toSet()));
+        } catch (Exception e) {
+            throw ServiceFailureException.wrap(e);
+        }
+
+        List<BulkItemResultDTO> resultList = new ArrayList<>(loanDTOList.size());
+        List<Loan> loanList = new ArrayList<>(loanDTOList.size());
+        Set<Long> requestedNumbers = new HashSet<>();
+
+        for(LoanDTO loanDTO : loanDTOList) {
+
+            long number = loanDTO.getNumber();
+
+            if(!bulkRequestValidator.isValid(loanDTO))
+                resultList.add(new BulkItemResultDTO(number,400,"Invalid loan details"));
+            else if(!requestedNumbers.add(number))
+                resultList.add(new BulkItemResultDTO(number,409,"Loan number repeated in the request"));
+            else if(existingNumbers.contains(number))
+                resultList.add(new BulkItemResultDTO(number,409,"Loan with same number already present"));
+            else {
+                Loan loan = offeringMapper.toLoan(loanDTO);
+                loan.setOffering(offering.get());
+                loanList.add(loan);
+                resultList.add(new BulkItemResultDTO(number,201,"Loan details successfully added"));
+            }
+        }
+
+        //saveAll runs in a single transaction and the inserts are sent as jdbc batches
+        try {
+            loanRepository.saveAll(loanList);
+        } catch (DataIntegrityViolationException e) {
+            //a concurrent request took one of the numbers after they were checked , other violations are failures
+            if(UniqueConstraints.isViolated(e,UniqueConstraints.LOAN_NUMBER))
+                throw new LoanAlreadyPresentException();
+            throw ServiceFailureException.wrap(e);
+        } catch (Exception e) {
+            throw ServiceFailureException.wrap(e);
+        }
+
+        HttpStatus httpStatus;
+
+        //nothing was added , the request fails with the status shared by the items or a bad request when they differ
+        if(loanList.isEmpty())
+            httpStatus = resultList.stream().allMatch(result -> result.getCode() == 409) ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+        else
+            httpStatus = loanList.size() == loanDTOList.size() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+
+        ResponseDTO responseDTO = new ResponseDTO(!loanList.isEmpty(),httpStatus.value(),"Loan details processed",resultList);
+        ResponseEntity responseEntity = new ResponseEntity(responseDTO, httpStatus);
+
+        return responseEntity;
+    }
+
+    /**
+     * Method that returns all the loans associated with a customer , when the client sends the entity tag it already has only the ids
+     * and versions of the loans are read and a 304 is returned if none of them changed
      * @param customerId
+     * @param ifNoneMatch - If-None-Match header value , may be null
      * @return - list of loan data transfer objects associated with customer
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity findAll(long customerId) throws Exception {
+    @Transactional(readOnly = true)
+    public ResponseEntity findAll(long customerId,String ifNoneMatch) throws Exception {
 
 
         customerService.validateCustomer(customerId);
 
-        Optional<Offering> offering = offeringRepository.findByCustomer_Id(customerId);
+        Optional<Offering> offering = callerContext.findOffering(customerId);
 
         if(!offering.isPresent())
             throw new UnauthorizedCustomerException();
 
-        List<Loan> loanList = loanRepository.findByOffering_Id(offering.get().getId());
+        if(ifNoneMatch != null) {
+            List<EntityVersion> versionList = loanRepository.findVersionsByOffering_Id(offering.get().getId());
+            String eTag = entityTags.of(versionList,EntityVersion::getId,EntityVersion::getVersion);
+
+            if(entityTags.isNotModified(ifNoneMatch,eTag))
+                return entityTags.notModified(eTag);
+        }
 
+        List<Loan> loanList = loanRepository.findByOffering_Id(offering.get().getId());
+        String eTag = entityTags.of(loanList,Loan::getId,Loan::getVersion);
 
-        List<LoanDTO> loanDTOList = loanList.stream()
-                .map(loan -> convertLoanToLoanDTO(loan))
-                .collect(Collectors.toList());
 
-        ResponseDTO responseDTO = new ResponseDTO(true,200,"Loan details successfully retrieved",loanDTOList);
-        ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
+        //the loans are converted while the response is written
+        ResponseDTO responseDTO = new StreamingResponseDTO<>(200,"Loan details successfully retrieved",loanList,
+                this::convertLoanToLoanDTO);
+        ResponseEntity responseEntity = new ResponseEntity(responseDTO,entityTags.headers(eTag),HttpStatus.OK);
 
         return responseEntity;
     }
 
     /**
-     * Method that finds a single loan associated with customer based on loan number
+     * Method that finds a single loan associated with customer based on loan number , the loan is not mapped or serialized when the
+     * client already has its current version
      * @param customerId
      * @param number
+     * @param ifNoneMatch - If-None-Match header value , may be null
      * @return - customer response entity consisting of the loan data transfer object
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity findByNumber(long customerId,long number) throws Exception {
+    @Transactional(readOnly = true)
+    public ResponseEntity findByNumber(long customerId,long number,String ifNoneMatch) throws Exception {
 
         customerService.validateCustomer(customerId);
-        validateLoan(customerId,number);
+        Loan loan = validateLoan(customerId,number);
+        String eTag = entityTags.of(loan.getVersion());
+
+        if(entityTags.isNotModified(ifNoneMatch,eTag))
+            return entityTags.notModified(eTag);
+
         ResponseEntity responseEntity;
 
         try {
-            Optional<Loan> optionalLoan = loanRepository.findByNumber(number);
-            LoanDTO loanDTO = convertLoanToLoanDTO(optionalLoan.get());
+            LoanDTO loanDTO = convertLoanToLoanDTO(loan);
             ResponseDTO responseDTO = new ResponseDTO(true,200,"Loan details successfully retrieved",loanDTO);
-            responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
+            responseEntity = new ResponseEntity(responseDTO,entityTags.headers(eTag),HttpStatus.OK);
         }catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
 
@@ -192,29 +297,32 @@ public class LoanService {
 
 
     /**
-     * Method that updates the loan details of a specific customer
+     * Method that updates the loan details of a specific customer , the update is refused if the loan changed since the version the
+     * client sent in If-Match or since it was read here
      * @param customerId
      * @param number - loan number
      * @param loanDTO - loan data transfer object
+     * @param ifMatch - If-Match header value , may be null
      * @return - custom response entity consisting of the updated loan data transfer object
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity update(long customerId,long number, LoanDTO loanDTO) throws Exception {
+    public ResponseEntity update(long customerId,long number, LoanDTO loanDTO,String ifMatch) throws Exception {
 
         if(number!=loanDTO.getNumber())
             throw new InconsistentDetailsException();
 
         customerService.validateCustomer(customerId);
-        validateLoan(customerId,loanDTO.getNumber());
+        Loan loan = validateLoan(customerId,loanDTO.getNumber());
+        entityTags.checkIfMatch(ifMatch,loan.getVersion());
 
         try {
-            Optional<Loan> optionalLoan = loanRepository.findByNumber(loanDTO.getNumber());
-            Loan loan = optionalLoan.get();
             loan.setCustomerId(loanDTO.getCustomerId());
             loan.setAmount(loanDTO.getAmount());
             loanRepository.save(loan);
+        }catch (ObjectOptimisticLockingFailureException e){
+            throw new ConcurrentUpdateException();
         }catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
 
@@ -226,26 +334,31 @@ public class LoanService {
     }
 
     /**
-     * Method that deletes a loan based on the loan number provided
+     * Method that deletes a loan based on the loan number provided , the delete is refused if the loan changed since the version the
+     * client sent in If-Match or since it was read here
      * @param customerId
      * @param number - loan number
+     * @param ifMatch - If-Match header value , may be null
      * @return - custom reponse entity consisting of the status of operation
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity deleteByNumber(long customerId,long number) throws Exception {
+    public ResponseEntity deleteByNumber(long customerId,long number,String ifMatch) throws Exception {
 
         customerService.validateCustomer(customerId);
-        validateLoan(customerId,number);
+        Loan loan = validateLoan(customerId,number);
+        entityTags.checkIfMatch(ifMatch,loan.getVersion());
 
 
         try {
-            loanRepository.deleteByNumber(number);
+            loanRepository.delete(loan);
             ResponseDTO responseDTO = new ResponseDTO(true,200,"Loan details successfully removed",null);
             ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
 
             return responseEntity;
+        } catch (ObjectOptimisticLockingFailureException e){
+            throw new ConcurrentUpdateException();
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
 
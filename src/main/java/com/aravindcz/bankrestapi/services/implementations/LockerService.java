@@ -1,26 +1,34 @@
 package com.aravindcz.bankrestapi.services.implementations;
 
+import com.aravindcz.bankrestapi.exceptions.ConcurrentUpdateException;
 import com.aravindcz.bankrestapi.exceptions.InconsistentDetailsException;
 import com.aravindcz.bankrestapi.exceptions.LockerAlreadyPresentException;
-import com.aravindcz.bankrestapi.exceptions.LockerNotFoundException;
+import com.aravindcz.bankrestapi.exceptions.OfferingNotFoundException;
+import com.aravindcz.bankrestapi.exceptions.ServiceFailureException;
 import com.aravindcz.bankrestapi.exceptions.UnauthorizedCustomerException;
+import com.aravindcz.bankrestapi.models.dtos.BulkItemResultDTO;
 import com.aravindcz.bankrestapi.models.dtos.LockerDTO;
 import com.aravindcz.bankrestapi.models.dtos.ResponseDTO;
+import com.aravindcz.bankrestapi.models.dtos.StreamingResponseDTO;
 import com.aravindcz.bankrestapi.models.entities.Locker;
 import com.aravindcz.bankrestapi.models.entities.Offering;
-import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.aravindcz.bankrestapi.repositories.interfaces.EntityVersion;
 import com.aravindcz.bankrestapi.repositories.interfaces.LockerRepository;
-import com.aravindcz.bankrestapi.repositories.interfaces.OfferingRepository;
-import com.mindstix.bankrestapi.exceptions.*;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import com.aravindcz.bankrestapi.models.mappers.OfferingMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -35,17 +43,21 @@ public class LockerService {
 
     @Autowired
     private LockerRepository lockerRepository;
+
     @Autowired
-    private OfferingRepository offeringRepository;
+    private CustomerService customerService;
 
     @Autowired
-    private CustomerRepository customerRepository;
+    private CallerContext callerContext;
 
     @Autowired
-    private CustomerService customerService;
+    private OfferingMapper offeringMapper;
+
+    @Autowired
+    private BulkRequestValidator bulkRequestValidator;
 
     @Autowired
-    ModelMapper modelMapper;
+    private EntityTags entityTags;
 
 
     /**
@@ -57,11 +69,10 @@ public class LockerService {
      */
     private Locker convertLockerDTOToLocker(long customerId, LockerDTO lockerDTO) {
 
-        Locker locker = modelMapper.map(lockerDTO,Locker.class);
-        Optional<Offering> offering = offeringRepository.findByCustomer_Id(customerId);
-        List<Locker> lockerList = offering.get().getLocker();
-        lockerList.add(locker);
+        Locker locker = offeringMapper.toLocker(lockerDTO);
+        Optional<Offering> offering = callerContext.findOffering(customerId);
 
+        //only the owning side is set so the products already added to the offering are not loaded
         locker.setOffering(offering.get());
 
         return locker;
@@ -76,7 +87,7 @@ public class LockerService {
     private LockerDTO convertLockerToLockerDTO(Locker locker) {
 
 
-        LockerDTO lockerDTO = modelMapper.map(locker, LockerDTO.class);
+        LockerDTO lockerDTO = offeringMapper.toLockerDTO(locker);
 
         return lockerDTO;
 
@@ -84,25 +95,20 @@ public class LockerService {
 
     /**
      * Method that validates locker , checks whether the current customer is authorized enough to do the operation on the current
-     * resource
+     * resource , the locker is looked up by number together with its owning customer in a single query
      * @param customerId
      * @param number - locker number
-     * @throws UnauthorizedCustomerException - if the customer should not be allowed to access the resource
-     * @throws LockerAlreadyPresentException - mainly when trying to create duplicate lockers
-     * @throws LockerNotFoundException - mainly when trying to perform operations on non existing lockers
+     * @return - locker jpa entity format object owned by the customer
+     * @throws UnauthorizedCustomerException - if the customer should not be allowed to access the resource , a locker that does not
+     * exist is reported the same way as a locker of another customer
      */
-    public void validateLocker(long customerId,long number) throws UnauthorizedCustomerException, LockerAlreadyPresentException, LockerNotFoundException {
-        Optional<Offering> optionalOffering = offeringRepository.findByCustomer_Id(customerId);
-        if(!optionalOffering.isPresent())
-            throw new UnauthorizedCustomerException();
-
-        Optional<Locker> optionalLocker = lockerRepository.findByNumber(number);
+    public Locker validateLocker(long customerId,long number) throws UnauthorizedCustomerException {
+        Optional<Locker> optionalLocker = lockerRepository.findByNumberAndOffering_Customer_Id(number,customerId);
 
-        if((!optionalLocker.isPresent())||(optionalLocker.get().getOffering().getId()!=optionalOffering.get().getId()))
+        if(!optionalLocker.isPresent())
             throw new UnauthorizedCustomerException();
 
-        if (!optionalLocker.isPresent())
-            throw new LockerNotFoundException();
+        return optionalLocker.get();
     }
 
     /**
@@ -110,7 +116,7 @@ public class LockerService {
      * @param customerId
      * @param lockerDTO - locker data transfer object
      * @return - custom response entity consisting of saved locker details
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
     public ResponseEntity save(long customerId, LockerDTO lockerDTO) throws Exception {
 
@@ -122,9 +128,14 @@ public class LockerService {
 
         try {
             Locker locker = convertLockerDTOToLocker(customerId, lockerDTO);
-            offeringRepository.save(offeringRepository.findByCustomer_Id(customerId).get());
+            lockerRepository.save(locker);
+        } catch (DataIntegrityViolationException e) {
+            //a concurrent request took the number after it was checked , other violations are failures
+            if(UniqueConstraints.isViolated(e,UniqueConstraints.LOCKER_NUMBER))
+                throw new LockerAlreadyPresentException();
+            throw ServiceFailureException.wrap(e);
         } catch (Exception e) {
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         ResponseDTO responseDTO = new ResponseDTO(true,201,"Locker details successfully added",lockerDTO.getNumber());
@@ -135,54 +146,148 @@ public class LockerService {
 
 
     /**
-     * Method that returns all the lockers associated with a customer
+     * Method to save a batch of lockers to the database in one transaction , the numbers already taken are found with a single
+     * query and every item gets its own result so that invalid or duplicate items do not fail the rest of the batch , the request
+     * only fails when none of the items could be added
+     * @param customerId - customer id
+     * @param lockerDTOList - locker data transfer objects
+     * @return - custom response entity consisting of the result of each item
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
+     */
+    public ResponseEntity saveAll(long customerId, List<LockerDTO> lockerDTOList) throws Exception {
+
+        customerService.validateCustomer(customerId);
+        bulkRequestValidator.validateSize(lockerDTOList);
+
+        Optional<Offering> offering = callerContext.findOffering(customerId);
+
+        if(!offering.isPresent())
+            throw new OfferingNotFoundException();
+
+        Set<Long> existingNumbers;
+
+        try {
+            existingNumbers = lockerRepository.findExistingNumbers(lockerDTOList.stream()
+                    .map(LockerDTO::getNumber)
+                    .collect(Collectors.toSet()));
+        } catch (Exception e) {
+            throw ServiceFailureException.wrap(e);
+        }
+
+        List<BulkItemResultDTO> resultList = new ArrayList<>(lockerDTOList.size());
+        List<Locker> lockerList = new ArrayList<>(lockerDTOList.size());
+        Set<Long> requestedNumbers = new HashSet<>();
+
+        for(LockerDTO lockerDTO : lockerDTOList) {
+
+            long number = lockerDTO.getNumber();
+
+            if(!bulkRequestValidator.isValid(lockerDTO))
+                resultList.add(new BulkItemResultDTO(number,400,"Invalid locker details"));
+            else if(!requestedNumbers.add(number))
+                resultList.add(new BulkItemResultDTO(number,409,"Locker number repeated in the request"));
+            else if(existingNumbers.contains(number))
+                resultList.add(new BulkItemResultDTO(number,409,"Locker with same number already present"));
+            else {
+                Locker locker = offeringMapper.toLocker(lockerDTO);
+                locker.setOffering(offering.get());
+                lockerList.add(locker);
+                resultList.add(new BulkItemResultDTO(number,201,"Locker details successfully added"));
+            }
+        }
+
+        //saveAll runs in a single transaction and the inserts are sent as jdbc batches
+        try {
+            lockerRepository.saveAll(lockerList);
+        } catch (DataIntegrityViolationException e) {
+            //a concurrent request took one of the numbers after they were checked , other violations are failures
+            if(UniqueConstraints.isViolated(e,UniqueConstraints.LOCKER_NUMBER))
+                throw new LockerAlreadyPresentException();
+            throw ServiceFailureException.wrap(e);
+        } catch (Exception e) {
+            throw ServiceFailureException.wrap(e);
+        }
+
+        HttpStatus httpStatus;
+
+        //nothing was added , the request fails with the status shared by the items or a bad request when they differ
+        if(lockerList.isEmpty())
+            httpStatus = resultList.stream().allMatch(result -> result.getCode() == 409) ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+        else
+            httpStatus = lockerList.size() == lockerDTOList.size() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+
+        ResponseDTO responseDTO = new ResponseDTO(!lockerList.isEmpty(),httpStatus.value(),"Locker details processed",resultList);
+        ResponseEntity responseEntity = new ResponseEntity(responseDTO, httpStatus);
+
+        return responseEntity;
+    }
+
+    /**
+     * Method that returns all the lockers associated with a customer , when the client sends the entity tag it already has only the ids
+     * and versions of the lockers are read and a 304 is returned if none of them changed
      * @param customerId
+     * @param ifNoneMatch - If-None-Match header value , may be null
      * @return - list of locker data transfer objects associated with customer
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity findAll(long customerId) throws Exception {
+    @Transactional(readOnly = true)
+    public ResponseEntity findAll(long customerId,String ifNoneMatch) throws Exception {
 
 
         customerService.validateCustomer(customerId);
 
-        Optional<Offering> offering = offeringRepository.findByCustomer_Id(customerId);
+        Optional<Offering> offering = callerContext.findOffering(customerId);
 
         if(!offering.isPresent())
             throw new UnauthorizedCustomerException();
 
-        List<Locker> lockerList = lockerRepository.findByOffering_Id(offering.get().getId());
+        if(ifNoneMatch != null) {
+            List<EntityVersion> versionList = lockerRepository.findVersionsByOffering_Id(offering.get().getId());
+            String eTag = entityTags.of(versionList,EntityVersion::getId,EntityVersion::getVersion);
+
+            if(entityTags.isNotModified(ifNoneMatch,eTag))
+                return entityTags.notModified(eTag);
+        }
 
+        List<Locker> lockerList = lockerRepository.findByOffering_Id(offering.get().getId());
+        String eTag = entityTags.of(lockerList,Locker::getId,Locker::getVersion);
 
-        List<LockerDTO> lockerDTOList = lockerList.stream()
-                .map(locker -> convertLockerToLockerDTO(locker))
-                .collect(Collectors.toList());
 
-        ResponseDTO responseDTO = new ResponseDTO(true,200,"Locker details successfully retrieved",lockerDTOList);
-        ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
+        //the lockers are converted while the response is written
+        ResponseDTO responseDTO = new StreamingResponseDTO<>(200,"Locker details successfully retrieved",lockerList,
+                this::convertLockerToLockerDTO);
+        ResponseEntity responseEntity = new ResponseEntity(responseDTO,entityTags.headers(eTag),HttpStatus.OK);
 
         return responseEntity;
     }
 
     /**
-     * Method that finds a single locker associated with customer based on locker number
+     * Method that finds a single locker associated with customer based on locker number , the locker is not mapped or serialized when the
+     * client already has its current version
      * @param customerId
      * @param number
+     * @param ifNoneMatch - If-None-Match header value , may be null
      * @return - customer response entity consisting of the locker data transfer object
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity findByNumber(long customerId,long number) throws Exception {
+    @Transactional(readOnly = true)
+    public ResponseEntity findByNumber(long customerId,long number,String ifNoneMatch) throws Exception {
 
         customerService.validateCustomer(customerId);
-        validateLocker(customerId,number);
+        Locker locker = validateLocker(customerId,number);
+        String eTag = entityTags.of(locker.getVersion());
+
+        if(entityTags.isNotModified(ifNoneMatch,eTag))
+            return entityTags.notModified(eTag);
+
         ResponseEntity responseEntity;
 
         try {
-            Optional<Locker> optionalLocker = lockerRepository.findByNumber(number);
-            LockerDTO lockerDTO = convertLockerToLockerDTO(optionalLocker.get());
+            LockerDTO lockerDTO = convertLockerToLockerDTO(locker);
             ResponseDTO responseDTO = new ResponseDTO(true,200,"Locker details successfully retrieved",lockerDTO);
-            responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
+            responseEntity = new ResponseEntity(responseDTO,entityTags.headers(eTag),HttpStatus.OK);
         }catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
 
@@ -191,29 +296,32 @@ public class LockerService {
 
 
     /**
-     * Method that updates the locker details of a specific customer
+     * Method that updates the locker details of a specific customer , the update is refused if the locker changed since the version the
+     * client sent in If-Match or since it was read here
      * @param customerId
      * @param number - locker number
      * @param lockerDTO - locker data transfer object
+     * @param ifMatch - If-Match header value , may be null
      * @return - custom response entity consisting of the updated locker data transfer object
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity update(long customerId,long number, LockerDTO lockerDTO) throws Exception {
+    public ResponseEntity update(long customerId,long number, LockerDTO lockerDTO,String ifMatch) throws Exception {
 
         if(number!=lockerDTO.getNumber())
             throw new InconsistentDetailsException();
 
         customerService.validateCustomer(customerId);
-        validateLocker(customerId,lockerDTO.getNumber());
+        Locker locker = validateLocker(customerId,lockerDTO.getNumber());
+        entityTags.checkIfMatch(ifMatch,locker.getVersion());
 
         try {
-            Optional<Locker> optionalLocker = lockerRepository.findByNumber(lockerDTO.getNumber());
-            Locker locker = optionalLocker.get();
             locker.setAccountNumber(lockerDTO.getAccountNumber());
             locker.setBranchCode(lockerDTO.getBranchCode());
             lockerRepository.save(locker);
+        }catch (ObjectOptimisticLockingFailureException e){
+            throw new ConcurrentUpdateException();
         }catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
 
@@ -225,26 +333,31 @@ public class LockerService {
     }
 
     /**
-     * Method that deletes a locker based on the locker number provided
+     * Method that deletes a locker based on the locker number provided , the delete is refused if the locker changed since the version the
+     * client sent in If-Match or since it was read here
      * @param customerId
      * @param number - locker number
+     * @param ifMatch - If-Match header value , may be null
      * @return - custom reponse entity consisting of the status of operation
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
-    public ResponseEntity deleteByNumber(long customerId,long number) throws Exception {
+    public ResponseEntity deleteByNumber(long customerId,long number,String ifMatch) throws Exception {
 
         customerService.validateCustomer(customerId);
-        validateLocker(customerId,number);
+        Locker locker = validateLocker(customerId,number);
+        entityTags.checkIfMatch(ifMatch,locker.getVersion());
 
 
         try {
-                lockerRepository.deleteByNumber(number);
+                lockerRepository.delete(locker);
                 ResponseDTO responseDTO = new ResponseDTO(true,200,"Locker details successfully removed",null);
                 ResponseEntity responseEntity = new ResponseEntity(responseDTO,HttpStatus.OK);
 
                 return responseEntity;
+        } catch (ObjectOptimisticLockingFailureException e){
+            throw new ConcurrentUpdateException();
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
 
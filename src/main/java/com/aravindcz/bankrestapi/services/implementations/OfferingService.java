@@ -1,7 +1,10 @@
 package com.aravindcz.bankrestapi.services.implementations;
 
+import com.aravindcz.bankrestapi.exceptions.LoanAlreadyPresentException;
+import com.aravindcz.bankrestapi.exceptions.LockerAlreadyPresentException;
 import com.aravindcz.bankrestapi.exceptions.OfferingDetailsAlreadyAddedException;
 import com.aravindcz.bankrestapi.exceptions.OfferingNotFoundException;
+import com.aravindcz.bankrestapi.exceptions.ServiceFailureException;
 import com.aravindcz.bankrestapi.models.dtos.LoanDTO;
 import com.aravindcz.bankrestapi.models.dtos.LockerDTO;
 import com.aravindcz.bankrestapi.models.dtos.OfferingDTO;
@@ -15,11 +18,13 @@ import com.aravindcz.bankrestapi.repositories.interfaces.LoanRepository;
 import com.aravindcz.bankrestapi.repositories.interfaces.LockerRepository;
 import com.aravindcz.bankrestapi.repositories.interfaces.OfferingRepository;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
+import com.aravindcz.bankrestapi.models.mappers.OfferingMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -41,45 +46,19 @@ public class OfferingService {
     private OfferingRepository offeringRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    private OfferingMapper offeringMapper;
 
     @Autowired
     private CustomerService customerService;
+
+    @Autowired
+    private CallerContext callerContext;
     @Autowired
     private LockerRepository lockerRepository;
     @Autowired
     private LoanRepository loanRepository;
 
 
-    /**
-     * Method which converts the locker data transfer object to locker jpa entity format object and also manages the relationship it
-     * has with offering object
-     * @param offering - offering object which consists of all the services that the customer has access to
-     * @param lockerDTO - locker data transfer object
-     * @return - locker jpa entity format object
-     */
-    private Locker convertLockerDTOToLocker(Offering offering,LockerDTO lockerDTO){
-
-        Locker locker = modelMapper.map(lockerDTO,Locker.class);
-        locker.setOffering(offering);
-        return locker;
-    }
-
-
-    /**
-     * Method which converts the loan data transfer object to loan jpa entity format object and also manages the relationship it
-     * has with offering object
-     * @param offering - offering object which consists of all the services that the customer has access to
-     * @param loanDTO - loan data transfer object
-     * @return - loan jpa entity format object
-     */
-    private Loan convertLoanDTOToLoan(Offering offering, LoanDTO loanDTO){
-
-        Loan loan = modelMapper.map(loanDTO,Loan.class);
-        loan.setOffering(offering);
-        return loan;
-    }
-
     /**
      * Method to convert offering data transfer object to offering jpa entity format object and also manages the relationship it has
      * with customer object
@@ -89,19 +68,10 @@ public class OfferingService {
      */
     private Offering convertOfferingDTOToOffering(Customer customer,OfferingDTO offeringDTO){
 
-        Offering offering = modelMapper.map(offeringDTO,Offering.class);
-        List<Locker> lockerList = offeringDTO.getLocker().stream()
-                .map(lockerDTO -> convertLockerDTOToLocker(offering,lockerDTO))
-                        .collect(Collectors.toList());
-
-        List<Loan> loanList = offeringDTO.getLoan().stream()
-                .map(loanDTO -> convertLoanDTOToLoan(offering,loanDTO))
-                .collect(Collectors.toList());
-
+        //the generated mapper links the converted lockers and loans back to the offering
+        Offering offering = offeringMapper.toOffering(offeringDTO);
 
         offering.setCustomer(customer);
-        offering.setLoan(loanList);
-        offering.setLocker(lockerList);
         customer.setOffering(offering);
 
         return offering;
@@ -109,12 +79,12 @@ public class OfferingService {
 
 
     /**
-     * Method to convert offering jpa entity format object to offering data transfer object using model mapper
+     * Method to convert offering jpa entity format object to offering data transfer object using the generated mapper
      * @param offering - offering jpa entity format object
      * @return - offering data transfer object
      */
     private OfferingDTO convertOfferingToOfferingDTO(Offering offering){
-        OfferingDTO offeringDTO = modelMapper.map(offering,OfferingDTO.class);
+        OfferingDTO offeringDTO = offeringMapper.toOfferingDTO(offering);
         return offeringDTO;
     }
 
@@ -135,7 +105,7 @@ public class OfferingService {
      * @param customerId - customer id
      * @param offeringDTO - offering data transfer object
      * @return - customer response entity
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
     public ResponseEntity save(long customerId,OfferingDTO offeringDTO) throws Exception {
 
@@ -143,18 +113,18 @@ public class OfferingService {
        customerService.validateCustomer(customerId);
         Optional<Customer> optionalCustomer;
         try {
-            optionalCustomer = customerRepository.findById(customerId);
+            optionalCustomer = callerContext.findCustomer(customerId);
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
 
         Optional<Offering> optionalOffering;
 
         try {
-            optionalOffering = offeringRepository.findByCustomer_Id(customerId);
+            optionalOffering = callerContext.findOffering(customerId);
         } catch (Exception e){
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         if(optionalOffering.isPresent())
@@ -162,10 +132,16 @@ public class OfferingService {
 
         try {
             Offering offering = convertOfferingDTOToOffering(optionalCustomer.get(),offeringDTO);
-            customerRepository.save(customerRepository.findById(customerId).get());
+            customerRepository.save(optionalCustomer.get());
+        } catch (DataIntegrityViolationException e){
+            //a loan or locker number of the offering is already taken
+            if(UniqueConstraints.isViolated(e,UniqueConstraints.LOAN_NUMBER))
+                throw new LoanAlreadyPresentException();
+            if(UniqueConstraints.isViolated(e,UniqueConstraints.LOCKER_NUMBER))
+                throw new LockerAlreadyPresentException();
+            throw ServiceFailureException.wrap(e);
         } catch (Exception e){
-            System.out.println(e.getMessage());
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         ResponseDTO responseDTO = new ResponseDTO(true,201,"Offering details successfully added",null);
@@ -179,9 +155,10 @@ public class OfferingService {
      * Method to return all the offerings associated with customer in the form of offering data transfer objects
      * @param customerId - customer id
      * @return - custom response entity consisting of offering data transfer objects
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
 
+    @Transactional(readOnly = true)
     public ResponseEntity findAll(long customerId) throws Exception {
 
         customerService.validateCustomer(customerId);
@@ -190,10 +167,10 @@ public class OfferingService {
         Optional<Offering> offering;
 
         try {
-            offering = offeringRepository.findByCustomer_Id(customerId);
+            offering = offeringRepository.findWithProductsByCustomer_Id(customerId);
         } catch (Exception e){
 
-            throw new Exception();
+            throw ServiceFailureException.wrap(e);
         }
 
         if(!offering.isPresent())
@@ -212,7 +189,7 @@ public class OfferingService {
      * @param customerId -
      * @param offeringDTO - offering data transfer object
      * @return - custom response entity consisting of updated offering
-     * @throws Exception - when any of the exceptions declared in the com.mindstix.bankrestapi.exceptions occurs
+     * @throws Exception - when any of the exceptions declared in the com.aravindcz.bankrestapi.exceptions occurs
      */
 //    public ResponseEntity update(long customerId,OfferingDTO offeringDTO) throws Exception {
 //
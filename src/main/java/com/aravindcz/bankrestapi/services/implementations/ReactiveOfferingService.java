@@ -0,0 +1,180 @@
+package com.aravindcz.bankrestapi.services.implementations;
+
+import com.aravindcz.bankrestapi.configurations.UserDetailsImplementation;
+import com.aravindcz.bankrestapi.exceptions.UnauthorizedCustomerException;
+import com.aravindcz.bankrestapi.models.dtos.ResponseDTO;
+import com.aravindcz.bankrestapi.models.dtos.StreamingResponseDTO;
+import com.aravindcz.bankrestapi.models.entities.Loan;
+import com.aravindcz.bankrestapi.models.entities.Locker;
+import com.aravindcz.bankrestapi.models.mappers.OfferingMapper;
+import com.aravindcz.bankrestapi.repositories.implementations.ReactiveOfferingRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ *
+ * ReactiveOfferingService - provides the non blocking reads of the loans and lockers of a customer served by the reactive read
+ * api , the ownership rules are the ones of the customer only endpoints of LoanController and LockerController ,
+ * LoanService.validateLoan and LockerService.validateLocker and the responses carry the same entity tags as the ones of LoanService and LockerService
+ * @author Aravind C
+ */
+@Service
+@ConditionalOnProperty(name = "reactive.server.enabled", havingValue = "true")
+@AllArgsConstructor
+public class ReactiveOfferingService {
+
+    @Autowired
+    private ReactiveOfferingRepository reactiveOfferingRepository;
+
+    @Autowired
+    private OfferingMapper offeringMapper;
+
+    @Autowired
+    private EntityTags entityTags;
+
+
+    /**
+     * Method that checks whether the principal is allowed to read the products of the customer , the routes only admit customers
+     * as LoanController and LockerController do , so a customer can only read their own products
+     * @param principal - principal that made the request
+     * @param customerId - customer id
+     * @return - true if the principal is the customer
+     */
+    private boolean isAuthorized(UserDetailsImplementation principal, long customerId) {
+        return principal.getId() == customerId;
+    }
+
+    /**
+     * Method that builds the response for a list of products , only the entity tag is sent when the client already has it
+     * @param rows - products read from the database
+     * @param id - function returning the id of a product
+     * @param version - function returning the version of a product
+     * @param mapper - function converting a product to its data transfer object
+     * @param message - message put in the response body
+     * @param ifNoneMatch - If-None-Match header value , may be null
+     * @return - custom response entity consisting of the list of product data transfer objects
+     */
+    private <T> ResponseEntity found(List<T> rows, ToLongFunction<T> id, ToLongFunction<T> version, Function<T, ?> mapper,
+                                     String message, String ifNoneMatch) {
+
+        String eTag = entityTags.of(rows,id,version);
+
+        if(entityTags.isNotModified(ifNoneMatch,eTag))
+            return entityTags.notModified(eTag);
+
+        ResponseDTO responseDTO = new StreamingResponseDTO<>(200,message,rows,mapper);
+
+        return new ResponseEntity(responseDTO,entityTags.headers(eTag),HttpStatus.OK);
+    }
+
+    /**
+     * Method that builds the response for a single product , it is not mapped when the client already has its current version
+     * @param row - product read from the database
+     * @param version - version of the product
+     * @param mapper - function converting the product to its data transfer object
+     * @param message - message put in the response body
+     * @param ifNoneMatch - If-None-Match header value , may be null
+     * @return - custom response entity consisting of the product data transfer object
+     */
+    private <T> ResponseEntity found(T row, long version, Function<T, ?> mapper, String message, String ifNoneMatch) {
+
+        String eTag = entityTags.of(version);
+
+        if(entityTags.isNotModified(ifNoneMatch,eTag))
+            return entityTags.notModified(eTag);
+
+        ResponseDTO responseDTO = new ResponseDTO(true,200,message,mapper.apply(row));
+
+        return new ResponseEntity(responseDTO,entityTags.headers(eTag),HttpStatus.OK);
+    }
+
+    /**
+     * Method that returns all the loans associated with a customer
+     * @param principal - principal that made the request
+     * @param customerId - customer id
+     * @param ifNoneMatch - If-None-Match header value , may be null
+     * @return - custom response entity consisting of the list of loan data transfer objects , fails with
+     * UnauthorizedCustomerException when the principal may not read them or the customer has no offering
+     */
+    public Mono<ResponseEntity> findAllLoans(UserDetailsImplementation principal, long customerId, String ifNoneMatch) {
+
+        if(!isAuthorized(principal,customerId))
+            return Mono.error(new UnauthorizedCustomerException());
+
+        return reactiveOfferingRepository.findLoansByCustomerId(customerId)
+                .switchIfEmpty(Mono.error(UnauthorizedCustomerException::new))
+                .map(loanList -> found(loanList,Loan::getId,Loan::getVersion,offeringMapper::toLoanDTO,
+                        "Loan details successfully retrieved",ifNoneMatch));
+    }
+
+    /**
+     * Method that finds a single loan associated with customer based on loan number
+     * @param principal - principal that made the request
+     * @param customerId - customer id
+     * @param number - loan number
+     * @param ifNoneMatch - If-None-Match header value , may be null
+     * @return - custom response entity consisting of the loan data transfer object , fails with UnauthorizedCustomerException
+     * when the principal may not read it , a loan that does not exist is reported the same way as a loan of another customer
+     */
+    public Mono<ResponseEntity> findLoanByNumber(UserDetailsImplementation principal, long customerId, long number,
+                                                 String ifNoneMatch) {
+
+        if(!isAuthorized(principal,customerId))
+            return Mono.error(new UnauthorizedCustomerException());
+
+        return reactiveOfferingRepository.findLoanByNumberAndCustomerId(number,customerId)
+                .switchIfEmpty(Mono.error(UnauthorizedCustomerException::new))
+                .map(loan -> found(loan,loan.getVersion(),offeringMapper::toLoanDTO,"Loan details successfully retrieved",
+                        ifNoneMatch));
+    }
+
+    /**
+     * Method that returns all the lockers associated with a customer
+     * @param principal - principal that made the request
+     * @param customerId - customer id
+     * @param ifNoneMatch - If-None-Match header value , may be null
+     * @return - custom response entity consisting of the list of locker data transfer objects , fails with
+     * UnauthorizedCustomerException when the principal may not read them or the customer has no offering
+     */
+    public Mono<ResponseEntity> findAllLockers(UserDetailsImplementation principal, long customerId, String ifNoneMatch) {
+
+        if(!isAuthorized(principal,customerId))
+            return Mono.error(new UnauthorizedCustomerException());
+
+        return reactiveOfferingRepository.findLockersByCustomerId(customerId)
+                .switchIfEmpty(Mono.error(UnauthorizedCustomerException::new))
+                .map(lockerList -> found(lockerList,Locker::getId,Locker::getVersion,offeringMapper::toLockerDTO,
+                        "Locker details successfully retrieved",ifNoneMatch));
+    }
+
+    /**
+     * Method that finds a single locker associated with customer based on locker number
+     * @param principal - principal that made the request
+     * @param customerId - customer id
+     * @param number - locker number
+     * @param ifNoneMatch - If-None-Match header value , may be null
+     * @return - custom response entity consisting of the locker data transfer object , fails with UnauthorizedCustomerException
+     * when the principal may not read it , a locker that does not exist is reported the same way as a locker of another customer
+     */
+    public Mono<ResponseEntity> findLockerByNumber(UserDetailsImplementation principal, long customerId, long number,
+                                                   String ifNoneMatch) {
+
+        if(!isAuthorized(principal,customerId))
+            return Mono.error(new UnauthorizedCustomerException());
+
+        return reactiveOfferingRepository.findLockerByNumberAndCustomerId(number,customerId)
+                .switchIfEmpty(Mono.error(UnauthorizedCustomerException::new))
+                .map(locker -> found(locker,locker.getVersion(),offeringMapper::toLockerDTO,
+                        "Locker details successfully retrieved",ifNoneMatch));
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.aravindcz.bankrestapi.services.implementations;
+
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.aravindcz.bankrestapi.repositories.interfaces.EmployeeRepository;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ *
+ * RegisteredEmailFilter - in memory bloom filters of the customer and employee emails that are already registered , an email the
+ * filter has never seen is certainly not registered so the registration can skip the duplicate check and rely on the unique email
+ * index , the filters are filled from the database once the application is ready
+ * @author Aravind C
+ */
+@Component
+public class RegisteredEmailFilter {
+
+    private final CustomerRepository customerRepository;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final BloomFilter<String> customerEmails;
+
+    private final BloomFilter<String> employeeEmails;
+
+    public RegisteredEmailFilter(CustomerRepository customerRepository, EmployeeRepository employeeRepository,
+                                 @Value("${registration.email-filter.expected-insertions}") long expectedInsertions,
+                                 @Value("${registration.email-filter.false-positive-probability}") double falsePositiveProbability) {
+        this.customerRepository = customerRepository;
+        this.employeeRepository = employeeRepository;
+        this.customerEmails = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveProbability);
+        this.employeeEmails = BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveProbability);
+    }
+
+    /**
+     * Method that fills the filters with the emails already present in the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<String> emails = customerRepository.streamAllEmails()) {
+            emails.forEach(customerEmails::put);
+        }
+        try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+            emails.forEach(employeeEmails::put);
+        }
+    }
+
+    /**
+     * Method that checks whether the email could belong to a registered customer
+     * @param email - user supplied email address
+     * @return - false if the email is certainly not registered as a customer
+     */
+    public boolean mightBeRegisteredCustomer(String email) {
+        return customerEmails.mightContain(email);
+    }
+
+    /**
+     * Method that records a newly registered customer email
+     * @param email - registered email address
+     */
+    public void addCustomer(String email) {
+        customerEmails.put(email);
+    }
+
+    /**
+     * Method that checks whether the email could belong to a registered employee
+     * @param email - user supplied email address
+     * @return - false if the email is certainly not registered as an employee
+     */
+    public boolean mightBeRegisteredEmployee(String email) {
+        return employeeEmails.mightContain(email);
+    }
+
+    /**
+     * Method that records a newly registered employee email
+     * @param email - registered email address
+     */
+    public void addEmployee(String email) {
+        employeeEmails.put(email);
+    }
+
+}
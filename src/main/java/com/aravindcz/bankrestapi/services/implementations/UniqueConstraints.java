@@ -0,0 +1,46 @@
+package com.aravindcz.bankrestapi.services.implementations;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ *
+ * UniqueConstraints - names of the unique constraints created by the migrations that the services turn into domain exceptions ,
+ * every other integrity violation is left to be reported as a service failure
+ * @author Aravind C
+ */
+final class UniqueConstraints {
+
+    static final String CUSTOMER_EMAIL = "uk_customer_email";
+
+    static final String EMPLOYEE_EMAIL = "uk_employee_email";
+
+    static final String LOAN_NUMBER = "ux_loan_number";
+
+    static final String LOCKER_NUMBER = "ux_locker_number";
+
+    private UniqueConstraints() {
+    }
+
+    /**
+     * Method that checks whether an integrity violation was raised by the given unique constraint , the name reported by the
+     * dialect carries the schema or table and index suffixes of the database so only the part of the migration is looked for
+     * @param e - integrity violation thrown while saving
+     * @param constraintName - name of the constraint in the migrations
+     * @return - true if the constraint is the one violated
+     */
+    static boolean isViolated(DataIntegrityViolationException e, String constraintName) {
+
+        for(Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if(cause instanceof ConstraintViolationException constraintViolationException) {
+                String violated = constraintViolationException.getConstraintName();
+                return violated != null && violated.toLowerCase(Locale.ROOT).contains(constraintName);
+            }
+        }
+
+        return false;
+    }
+
+}
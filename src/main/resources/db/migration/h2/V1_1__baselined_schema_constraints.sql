@@ -0,0 +1,8 @@
+-- constraints the V1 schema declares but databases created by ddl-auto=create lack , those databases are baselined at V1 so this
+-- runs on them before V2 , on a database migrated from V1 the tables are still empty and the constraints already exist , duplicate
+-- emails and product numbers were already refused by DuplicateIdentifierCheck
+
+-- the services recognise duplicate registrations by these names , hibernate generated other names or no constraint at all
+
+alter table customer add constraint if not exists uk_customer_email unique (email);
+alter table employee add constraint if not exists uk_employee_email unique (email);
@@ -0,0 +1,9 @@
+-- indexes for the columns the repositories filter on , customer.email and employee.email are already unique since V1
+
+create index ix_customer_account_number on customer (account_number);
+
+create unique index ux_loan_number on loan (number);
+create index ix_loan_offering on loan (offering_id);
+
+create unique index ux_locker_number on locker (number);
+create index ix_locker_offering on locker (offering_id);
@@ -0,0 +1,6 @@
+-- version columns checked by hibernate on every update and delete , also used as the entity tags of the get endpoints
+
+alter table customer add column version bigint default 0 not null;
+alter table offering add column version bigint default 0 not null;
+alter table loan add column version bigint default 0 not null;
+alter table locker add column version bigint default 0 not null;
@@ -0,0 +1,19 @@
+-- constraints the V1 schema declares but databases created by ddl-auto=create lack , those databases are baselined at V1 so this
+-- runs on them before V2 , on a database migrated from V1 the tables are still empty and the constraints already exist , duplicate
+-- emails and product numbers were already refused by DuplicateIdentifierCheck
+
+-- the services recognise duplicate registrations by these names , hibernate generated other names or no constraint at all
+
+set @add_customer_email = if((select count(*) from information_schema.table_constraints where table_schema = database()
+    and table_name = 'customer' and constraint_name = 'uk_customer_email') = 0,
+    'alter table customer add constraint uk_customer_email unique (email)', 'do 0');
+prepare add_customer_email from @add_customer_email;
+execute add_customer_email;
+deallocate prepare add_customer_email;
+
+set @add_employee_email = if((select count(*) from information_schema.table_constraints where table_schema = database()
+    and table_name = 'employee' and constraint_name = 'uk_employee_email') = 0,
+    'alter table employee add constraint uk_employee_email unique (email)', 'do 0');
+prepare add_employee_email from @add_employee_email;
+execute add_employee_email;
+deallocate prepare add_employee_email;
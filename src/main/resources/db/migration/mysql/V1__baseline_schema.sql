@@ -0,0 +1,119 @@
+-- schema previously generated by hibernate with ddl-auto=create
+
+create table address (
+    id bigint not null,
+    city varchar(255),
+    pin varchar(255),
+    state varchar(255),
+    street varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table branch (
+    id bigint not null,
+    code bigint not null,
+    ifsc varchar(255),
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table card (
+    id bigint not null,
+    card_number bigint not null,
+    credit_limit bigint not null,
+    expiry_date date,
+    primary key (id)
+) engine=InnoDB;
+
+create table offering (
+    id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table customer (
+    id bigint not null,
+    account_number bigint not null,
+    account_type varchar(255),
+    contact_number bigint not null,
+    email varchar(255),
+    name varchar(255),
+    pan_card_number bigint not null,
+    password varchar(255),
+    role varchar(255),
+    address_id bigint,
+    branch_id bigint,
+    card_id bigint,
+    offering_id bigint,
+    primary key (id),
+    constraint uk_customer_address unique (address_id),
+    constraint uk_customer_branch unique (branch_id),
+    constraint uk_customer_card unique (card_id),
+    constraint uk_customer_offering unique (offering_id),
+    constraint uk_customer_email unique (email),
+    constraint fk_customer_address foreign key (address_id) references address (id),
+    constraint fk_customer_branch foreign key (branch_id) references branch (id),
+    constraint fk_customer_card foreign key (card_id) references card (id),
+    constraint fk_customer_offering foreign key (offering_id) references offering (id)
+) engine=InnoDB;
+
+create table employee (
+    id bigint not null,
+    email varchar(255),
+    joining_date date,
+    name varchar(255),
+    password varchar(255),
+    role varchar(255),
+    salary integer not null,
+    title varchar(255),
+    address_id bigint,
+    primary key (id),
+    constraint uk_employee_address unique (address_id),
+    constraint uk_employee_email unique (email),
+    constraint fk_employee_address foreign key (address_id) references address (id)
+) engine=InnoDB;
+
+create table loan (
+    id bigint not null,
+    amount bigint not null,
+    customer_id bigint not null,
+    number bigint not null,
+    offering_id bigint,
+    primary key (id),
+    constraint fk_loan_offering foreign key (offering_id) references offering (id)
+) engine=InnoDB;
+
+create table locker (
+    id bigint not null,
+    account_number bigint not null,
+    branch_code bigint not null,
+    number bigint not null,
+    offering_id bigint,
+    primary key (id),
+    constraint fk_locker_offering foreign key (offering_id) references offering (id)
+) engine=InnoDB;
+
+-- mysql has no sequences , hibernate emulates the id sequence of each entity with a single row table
+
+create table address_seq (next_val bigint) engine=InnoDB;
+insert into address_seq values (1);
+
+create table branch_seq (next_val bigint) engine=InnoDB;
+insert into branch_seq values (1);
+
+create table card_seq (next_val bigint) engine=InnoDB;
+insert into card_seq values (1);
+
+create table offering_seq (next_val bigint) engine=InnoDB;
+insert into offering_seq values (1);
+
+create table customer_seq (next_val bigint) engine=InnoDB;
+insert into customer_seq values (1);
+
+create table employee_seq (next_val bigint) engine=InnoDB;
+insert into employee_seq values (1);
+
+create table loan_seq (next_val bigint) engine=InnoDB;
+insert into loan_seq values (1);
+
+create table locker_seq (next_val bigint) engine=InnoDB;
+insert into locker_seq values (1);
@@ -0,0 +1,55 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that an instance only starts with a secret every instance can share , and that such a secret verifies the tokens of
+ * another instance
+ */
+class AccessTokenServiceTests {
+
+	private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+	private static final Duration TIME_TO_LIVE = Duration.ofMinutes(15);
+
+	private static MockEnvironment environment(String... profiles) {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles(profiles);
+		return environment;
+	}
+
+	@Test
+	void missingSecretFailsStartupOutsideDevAndEmbedded() {
+		assertThatThrownBy(() -> new AccessTokenService("", TIME_TO_LIVE, environment("prod")))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("ACCESS_TOKEN_SECRET");
+
+		new AccessTokenService("", TIME_TO_LIVE, environment("dev"));
+		new AccessTokenService(" ", TIME_TO_LIVE, environment("embedded"));
+	}
+
+	@Test
+	void secretsShorterThanTheKeySizeAreRejected() {
+		assertThatThrownBy(() -> new AccessTokenService(SECRET.substring(1), TIME_TO_LIVE, environment("embedded")))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("31 bytes");
+	}
+
+	@Test
+	void instancesSharingTheSecretAcceptEachOthersTokens() {
+		AccessTokenService issuer = new AccessTokenService(SECRET, TIME_TO_LIVE, environment());
+		AccessTokenService verifier = new AccessTokenService(SECRET, TIME_TO_LIVE, environment());
+
+		String token = issuer.issue(new UserDetailsImplementation(new UserDTO("aravind@bank.com", null, "ROLE_CUSTOMER"), 7));
+
+		assertThat(verifier.verify(token).getId()).isEqualTo(7);
+	}
+
+}
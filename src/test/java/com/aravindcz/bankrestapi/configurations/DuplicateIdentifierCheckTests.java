@@ -0,0 +1,76 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that a baselined database with duplicate emails or product numbers fails the migration with every conflicting row listed
+ */
+class DuplicateIdentifierCheckTests {
+
+	private Connection connection;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:h2:mem:duplicates" + System.nanoTime() + ";MODE=MySQL", "sa", "");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("create table customer (id bigint primary key, email varchar(255))");
+			statement.execute("create table employee (id bigint primary key, email varchar(255))");
+			statement.execute("create table loan (id bigint primary key, number bigint)");
+			statement.execute("create table locker (id bigint primary key, number bigint)");
+			statement.execute("insert into customer values (1, 'a@bank.com'), (2, 'b@bank.com')");
+			statement.execute("insert into loan values (1, 501), (2, 502)");
+		}
+	}
+
+	@AfterEach
+	void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	private void migrate() throws Exception {
+		new DuplicateIdentifierCheck().migrate(new Context() {
+			@Override
+			public Configuration getConfiguration() {
+				return null;
+			}
+
+			@Override
+			public Connection getConnection() {
+				return connection;
+			}
+		});
+	}
+
+	@Test
+	void uniqueIdentifiersPass() {
+		assertThatCode(this::migrate).doesNotThrowAnyException();
+	}
+
+	@Test
+	void duplicatesAreListedAndKept() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("insert into loan values (3, 501)");
+			statement.execute("insert into locker values (1, 601), (2, 601)");
+		}
+
+		assertThatThrownBy(this::migrate)
+				.isInstanceOf(FlywayException.class)
+				.hasMessageContaining("loan id=1 number=501 , loan id=3 number=501")
+				.hasMessageContaining("locker id=1 number=601 , locker id=2 number=601")
+				.message().doesNotContain("customer");
+	}
+
+}
@@ -0,0 +1,39 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.KeyValuePair;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a client supplied value can neither close its quotes nor start a new audit line
+ */
+class QuotedKeyValuePairsConverterTests {
+
+	private final QuotedKeyValuePairsConverter converter = new QuotedKeyValuePairsConverter();
+
+	private String convert(KeyValuePair... keyValuePairs) {
+		LoggingEvent event = new LoggingEvent();
+		event.setKeyValuePairs(List.of(keyValuePairs));
+		return converter.convert(event);
+	}
+
+	@Test
+	void forgedPrincipalStaysInsideItsValue() {
+		String line = convert(new KeyValuePair("event", "authentication_failed"),
+				new KeyValuePair("principal", "mallory\" status=\"200\nts=now event=\"login\""));
+
+		assertThat(line).isEqualTo("event=\"authentication_failed\" principal=\"mallory\\\" status=\\\"200\\nts=now event=\\\"login\\\"\"");
+		assertThat(line).doesNotContain("\n");
+	}
+
+	@Test
+	void nullValuesAndEventsWithoutPairs() {
+		assertThat(convert(new KeyValuePair("uri", null))).isEqualTo("uri=\"null\"");
+		assertThat(converter.convert(new LoggingEvent())).isEmpty();
+	}
+
+}
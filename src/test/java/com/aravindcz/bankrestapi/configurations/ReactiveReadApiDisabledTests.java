@@ -0,0 +1,35 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the application the way it is deployed by default , with the reactive read api switched off , the jdbc data source and
+ * the jpa repositories have to be there and nothing of the reactive read api
+ */
+@SpringBootTest(properties = "reactive.server.enabled=false")
+@ActiveProfiles("embedded")
+class ReactiveReadApiDisabledTests {
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Test
+	void contextLoadsWithTheJdbcDataSourceAndWithoutTheReactiveReadApi() {
+		assertThat(applicationContext.getBeansOfType(DataSource.class)).isNotEmpty();
+		assertThat(applicationContext.getBeansOfType(CustomerRepository.class)).hasSize(1);
+		assertThat(applicationContext.getBeanNamesForType(ReactiveReadServer.class)).isEmpty();
+		assertThat(applicationContext.getBeanNamesForType(ReactiveReadConnections.class)).isEmpty();
+		assertThat(applicationContext.getBeanNamesForType(ConnectionFactory.class)).isEmpty();
+	}
+
+}
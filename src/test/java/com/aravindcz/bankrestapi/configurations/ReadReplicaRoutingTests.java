@@ -0,0 +1,126 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.aravindcz.bankrestapi.models.dtos.CustomerDTO;
+import com.aravindcz.bankrestapi.models.dtos.ResponseDTO;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.aravindcz.bankrestapi.services.implementations.CustomerService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two embedded databases , the replica holds a customer the primary does not have so the data read tells
+ * which database served it
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1;MODE=MySQL",
+		"datasource.replica.jdbc-url=" + ReadReplicaRoutingTests.REPLICA_URL,
+		"datasource.replica.username=sa",
+		"datasource.replica.driver-class-name=org.h2.Driver",
+		"datasource.replica-lag.query=select lag_seconds from replica_lag",
+		"datasource.replica-lag.check-interval=0s"
+})
+@ActiveProfiles("embedded")
+class ReadReplicaRoutingTests {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+	private static final long REPLICA_ONLY_ID = 1000000;
+
+	private static final String REPLICA_ONLY_NAME = "Replica only";
+
+	private static final long STALE_ID = 1000001;
+
+	private static final String STALE_NAME = "Stale on the replica";
+
+	private static final String CURRENT_NAME = "Current on the primary";
+
+	private static JdbcTemplate replica;
+
+	@Autowired
+	private CustomerService customerService;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primaryDataSource;
+
+	@BeforeAll
+	static void createReplica() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+		Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/h2").load().migrate();
+
+		replica = new JdbcTemplate(dataSource);
+		replica.execute("create table if not exists replica_lag (lag_seconds bigint)");
+		replica.update("delete from customer where id = ?", REPLICA_ONLY_ID);
+		replica.update("insert into customer (id, account_number, contact_number, pan_card_number, name) values (?, 1, 1, 1, ?)",
+				REPLICA_ONLY_ID, REPLICA_ONLY_NAME);
+		replica.update("delete from customer where id = ?", STALE_ID);
+		replica.update("insert into customer (id, account_number, contact_number, pan_card_number, name) values (?, 2, 1, 1, ?)",
+				STALE_ID, STALE_NAME);
+	}
+
+	@BeforeEach
+	void replicaInSync() {
+		replica.update("delete from replica_lag");
+		replica.update("insert into replica_lag values (0)");
+	}
+
+	private List<String> namesListedByTheService() throws Exception {
+		ResponseDTO responseDTO = (ResponseDTO) customerService.findAll(null, null).getBody();
+		return ((List<CustomerDTO>) responseDTO.getData()).stream().map(CustomerDTO::getName).collect(Collectors.toList());
+	}
+
+	@Test
+	void readOnlyServiceMethodsReadFromTheReplica() throws Exception {
+		assertThat(namesListedByTheService()).contains(REPLICA_ONLY_NAME);
+	}
+
+	@Test
+	void repositoryCallsOutsideReadOnlyServiceMethodsUseThePrimary() {
+		assertThat(customerRepository.existsById(REPLICA_ONLY_ID)).isFalse();
+	}
+
+	@Test
+	void laggingReplicaFallsBackToThePrimary() throws Exception {
+		replica.update("update replica_lag set lag_seconds = 60");
+
+		assertThat(namesListedByTheService()).doesNotContain(REPLICA_ONLY_NAME);
+	}
+
+	@Test
+	void unknownLagFallsBackToThePrimary() throws Exception {
+		replica.update("delete from replica_lag");
+
+		assertThat(namesListedByTheService()).doesNotContain(REPLICA_ONLY_NAME);
+	}
+
+	@Test
+	void rowsReadFromAStaleReplicaAreNotCachedForThePrimary() throws Exception {
+		JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+		primary.update("delete from customer where id = ?", STALE_ID);
+		primary.update("insert into customer (id, account_number, contact_number, pan_card_number, name) values (?, 2, 1, 1, ?)",
+				STALE_ID, CURRENT_NAME);
+
+		assertThat(namesListedByTheService()).contains(STALE_NAME);
+
+		assertThat(customerRepository.findById(STALE_ID)).hasValueSatisfying(customer ->
+				assertThat(customer.getName()).isEqualTo(CURRENT_NAME));
+	}
+
+}
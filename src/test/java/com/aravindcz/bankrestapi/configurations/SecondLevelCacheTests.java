@@ -0,0 +1,68 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.typesafe.config.ConfigFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the context with the second level cache of application.properties , missing_cache_strategy is fail so the context only
+ * starts when the caffeine jcache provider found every entity and hibernate default region in application.conf , the named
+ * query regions are built here the way the first cached query builds them
+ */
+@SpringBootTest
+@ActiveProfiles("embedded")
+class SecondLevelCacheTests {
+
+	private static final List<String> REGIONS = List.of("branch", "address", "card", "customer", "offering");
+
+	private static final List<String> QUERY_REGIONS = List.of("customer-queries", "offering-queries");
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void everyRegionIsBuiltFromApplicationConf() {
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+		assertThat(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).isTrue();
+		assertThat(sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()).isTrue();
+
+		assertThat(TypesafeConfigurator.cacheNames(ConfigFactory.load()))
+				.contains("default-update-timestamps-region", "default-query-results-region");
+
+		for(String region : REGIONS) {
+			assertThat(TypesafeConfigurator.cacheNames(ConfigFactory.load())).contains(region);
+			assertThat(sessionFactory.getCache().getRegion(region)).as(region).isNotNull();
+		}
+
+		assertThat(sessionFactory.getCache().getTimestampsCache().getRegion().getName())
+				.isEqualTo("default-update-timestamps-region");
+		assertThat(sessionFactory.getCache().getDefaultQueryResultsCache().getRegion().getName())
+				.isEqualTo("default-query-results-region");
+
+		//named query regions are only built on their first query , with the same missing cache strategy
+		for(String region : QUERY_REGIONS) {
+			assertThat(TypesafeConfigurator.cacheNames(ConfigFactory.load())).contains(region);
+			assertThat(sessionFactory.getCache().getQueryResultsCache(region).getRegion().getName()).isEqualTo(region);
+		}
+	}
+
+	@Test
+	void regionsKeepTheirOwnSize() {
+		CaffeineConfiguration<Object, Object> branch = TypesafeConfigurator.<Object, Object>from(ConfigFactory.load(), "branch")
+				.orElseThrow();
+
+		assertThat(branch.getMaximumSize()).hasValue(1000L);
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.aravindcz.bankrestapi.configurations;
+
+import com.aravindcz.bankrestapi.exceptions.ServiceFailureException;
+import com.aravindcz.bankrestapi.exceptions.StatementBudgetExceededException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that only the writes prepared again for a following jdbc batch raise the statement budget
+ */
+class StatementBudgetTests {
+
+	private static final String INSERT = "insert into loan (amount,customer_id,number,offering_id,version,id) values (?,?,?,?,?,?)";
+
+	@Test
+	void writesSentAsJdbcBatchesRaiseTheBudget() {
+		StatementBudget budget = StatementBudget.start(3, true);
+
+		try {
+			for(int batch = 0; batch < 10; batch++) {
+				StatementBudget.onStatement(INSERT);
+				StatementBudget.onBatch();
+			}
+
+			assertThat(StatementBudget.allowed(budget)).isEqualTo(3 + 9);
+		} finally {
+			assertThat(StatementBudget.stop(budget)).isEqualTo(10);
+		}
+	}
+
+	@Test
+	void writesRepeatedPerRowWithoutBatchingGoOverTheBudget() {
+		StatementBudget budget = StatementBudget.start(3, true);
+
+		try {
+			StatementBudget.onStatement(INSERT);
+			StatementBudget.onStatement(INSERT);
+			StatementBudget.onStatement(INSERT);
+
+			assertThatThrownBy(() -> StatementBudget.onStatement(INSERT)).isInstanceOf(StatementBudgetExceededException.class);
+		} finally {
+			StatementBudget.stop(budget);
+		}
+	}
+
+	@Test
+	void servicesThrowTheBudgetOnUnwrapped() {
+		StatementBudgetExceededException exceeded = new StatementBudgetExceededException(3, INSERT);
+
+		assertThatThrownBy(() -> ServiceFailureException.wrap(exceeded)).isSameAs(exceeded);
+		assertThat(ServiceFailureException.wrap(new IllegalStateException())).hasCauseInstanceOf(IllegalStateException.class);
+	}
+
+}
@@ -0,0 +1,170 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+import com.aravindcz.bankrestapi.fixtures.TestFixtures;
+import com.aravindcz.bankrestapi.models.dtos.LoanDTO;
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the customer , loan and locker endpoints answer cbor and smile clients with the same response as json clients and
+ * read request bodies in those encodings
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+class BinaryContentNegotiationTests {
+
+	private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+	private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+	private final ObjectMapper jsonMapper = new ObjectMapper();
+
+	private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+	private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	private long customerId;
+
+	private long lockerNumber;
+
+	private String accessToken;
+
+	@BeforeEach
+	void setUp() {
+		lockerNumber = System.nanoTime();
+		Customer customer = customerRepository.save(TestFixtures.customer("binary." + System.nanoTime() + "@bank.com")
+				.loan(System.nanoTime(), 10000)
+				.loan(System.nanoTime(), 20000)
+				.locker(lockerNumber)
+				.build());
+		customerId = customer.getId();
+
+		ResponseEntity<Map> login = restTemplate.postForEntity("/api/v1/auth/login", new UserDTO(customer.getEmail(), "secret", null),
+				Map.class);
+		accessToken = (String) ((Map) login.getBody().get("data")).get("accessToken");
+	}
+
+	private ResponseEntity<byte[]> exchange(HttpMethod method, String url, MediaType mediaType, byte[] body) {
+		HttpHeaders httpHeaders = new HttpHeaders();
+		httpHeaders.setBearerAuth(accessToken);
+		httpHeaders.setAccept(List.of(mediaType));
+		if (body != null)
+			httpHeaders.setContentType(mediaType);
+
+		return restTemplate.exchange(url, method, new HttpEntity<>(body, httpHeaders), byte[].class, customerId);
+	}
+
+	private JsonNode get(String url, MediaType mediaType, ObjectMapper objectMapper) throws Exception {
+		ResponseEntity<byte[]> response = exchange(HttpMethod.GET, url, mediaType, null);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getContentType().isCompatibleWith(mediaType)).isTrue();
+
+		return objectMapper.readTree(response.getBody());
+	}
+
+	@Test
+	void listsAreEncodedAsRequested() throws Exception {
+		String url = "/api/v1/customers/{customerId}/offerings/loans";
+		JsonNode json = get(url, MediaType.APPLICATION_JSON, jsonMapper);
+
+		assertThat(json.path("data")).hasSize(2);
+		assertThat(get(url, CBOR, cborMapper)).isEqualTo(json);
+		assertThat(get(url, SMILE, smileMapper)).isEqualTo(json);
+	}
+
+	@Test
+	void detailsAreEncodedAsRequested() throws Exception {
+		String url = "/api/v1/customers/{customerId}";
+		JsonNode json = get(url, MediaType.APPLICATION_JSON, jsonMapper);
+
+		assertThat(get(url, CBOR, cborMapper)).isEqualTo(json);
+		assertThat(get(url, SMILE, smileMapper)).isEqualTo(json);
+	}
+
+	@Test
+	void everyEncodingGetsAnEntityTagOfItsOwn() {
+		String url = "/api/v1/customers/{customerId}/offerings/lockers/{number}";
+		ResponseEntity<byte[]> json = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers(MediaType.APPLICATION_JSON, null)),
+				byte[].class, customerId, lockerNumber);
+		ResponseEntity<byte[]> cbor = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers(CBOR, null)), byte[].class,
+				customerId, lockerNumber);
+
+		assertThat(json.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+		assertThat(cbor.getHeaders().getVary()).contains(HttpHeaders.ACCEPT);
+		assertThat(cbor.getHeaders().getETag()).isNotEqualTo(json.getHeaders().getETag());
+
+		//a json client revalidating gets a 304 and a cbor client holding the json tag gets the cbor representation
+		ResponseEntity<byte[]> jsonAgain = restTemplate.exchange(url, HttpMethod.GET,
+				new HttpEntity<>(headers(MediaType.APPLICATION_JSON, json.getHeaders().getETag())), byte[].class, customerId, lockerNumber);
+		ResponseEntity<byte[]> cborWithJsonTag = restTemplate.exchange(url, HttpMethod.GET,
+				new HttpEntity<>(headers(CBOR, json.getHeaders().getETag())), byte[].class, customerId, lockerNumber);
+
+		assertThat(jsonAgain.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(cborWithJsonTag.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(cborWithJsonTag.getHeaders().getContentType().isCompatibleWith(CBOR)).isTrue();
+	}
+
+	private HttpHeaders headers(MediaType accept, String ifNoneMatch) {
+		HttpHeaders httpHeaders = new HttpHeaders();
+		httpHeaders.setBearerAuth(accessToken);
+		httpHeaders.setAccept(List.of(accept));
+		if (ifNoneMatch != null)
+			httpHeaders.setIfNoneMatch(ifNoneMatch);
+		return httpHeaders;
+	}
+
+	@Test
+	void jsonStaysTheDefault() {
+		HttpHeaders httpHeaders = new HttpHeaders();
+		httpHeaders.setBearerAuth(accessToken);
+
+		ResponseEntity<byte[]> response = restTemplate.exchange("/api/v1/customers/{customerId}/offerings/lockers", HttpMethod.GET,
+				new HttpEntity<>(httpHeaders), byte[].class, customerId);
+
+		assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue();
+	}
+
+	@Test
+	void requestBodiesAreReadInTheBinaryEncodings() throws Exception {
+		byte[] body = cborMapper.writeValueAsBytes(new LoanDTO(System.nanoTime(), 1, 25000));
+
+		ResponseEntity<byte[]> response = exchange(HttpMethod.POST, "/api/v1/customers/{customerId}/offerings/loans", CBOR, body);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+		assertThat(cborMapper.readTree(response.getBody()).path("code").asInt()).isEqualTo(201);
+	}
+
+	@Test
+	void failuresAreEncodedAsRequested() throws Exception {
+		ResponseEntity<byte[]> response = exchange(HttpMethod.GET, "/api/v1/customers/{customerId}/offerings/loans/1", SMILE,
+				null);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(smileMapper.readTree(response.getBody()).path("code").asInt()).isEqualTo(403);
+	}
+
+}
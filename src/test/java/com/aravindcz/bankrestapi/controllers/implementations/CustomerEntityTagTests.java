@@ -0,0 +1,75 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+import com.aravindcz.bankrestapi.fixtures.TestFixtures;
+import com.aravindcz.bankrestapi.models.dtos.CustomerDTO;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins that the entity tag of a customer , which only holds the customer version , changes when the branch , card or address of the
+ * customer is updated
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+class CustomerEntityTagTests {
+
+	private static final String CUSTOMER_URL = "/api/v1/customers/{id}";
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private long customerId;
+
+	private TestRestTemplate client;
+
+	@BeforeEach
+	void setUp() {
+		String email = "etag." + System.nanoTime() + "@bank.com";
+		customerId = customerRepository.save(TestFixtures.customer(email).build()).getId();
+		client = restTemplate.withBasicAuth(email, TestFixtures.PASSWORD);
+	}
+
+	@Test
+	void addressChangeGivesTheCustomerANewEntityTag() {
+		ResponseEntity<Map> before = client.getForEntity(CUSTOMER_URL, Map.class, customerId);
+		String eTag = before.getHeaders().getETag();
+		assertThat(eTag).isNotNull();
+
+		CustomerDTO customerDTO = objectMapper.convertValue(before.getBody().get("data"), CustomerDTO.class);
+		customerDTO.getAddress().setCity("Thrissur");
+
+		HttpHeaders updateHeaders = new HttpHeaders();
+		updateHeaders.setIfMatch(eTag);
+		ResponseEntity<Map> update = client.exchange(CUSTOMER_URL, HttpMethod.PUT, new HttpEntity<>(customerDTO, updateHeaders),
+				Map.class, customerId);
+		assertThat(update.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		HttpHeaders readHeaders = new HttpHeaders();
+		readHeaders.setIfNoneMatch(eTag);
+		ResponseEntity<Map> after = client.exchange(CUSTOMER_URL, HttpMethod.GET, new HttpEntity<>(readHeaders), Map.class,
+				customerId);
+
+		//a 304 here would leave the client with the old address
+		assertThat(after.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(after.getHeaders().getETag()).isNotEqualTo(eTag);
+		assertThat(((Map) ((Map) after.getBody().get("data")).get("address")).get("city")).isEqualTo("Thrissur");
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+import com.aravindcz.bankrestapi.fixtures.TestFixtures;
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that an access token outliving its customer is refused with the unauthorized customer response
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+class DeletedCustomerAccessTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	private ResponseEntity<Map> exchange(HttpMethod method, String url, String accessToken, long customerId) {
+		HttpHeaders httpHeaders = new HttpHeaders();
+		httpHeaders.setBearerAuth(accessToken);
+
+		return restTemplate.exchange(url, method, new HttpEntity<>(httpHeaders), Map.class, customerId);
+	}
+
+	@Test
+	void tokenOfADeletedCustomerIsRefused() {
+		Customer customer = customerRepository.save(TestFixtures.customer("deleted." + System.nanoTime() + "@bank.com")
+				.loan(System.nanoTime(), 10000)
+				.build());
+
+		ResponseEntity<Map> login = restTemplate.postForEntity("/api/v1/auth/login", new UserDTO(customer.getEmail(), "secret", null),
+				Map.class);
+		String accessToken = (String) ((Map) login.getBody().get("data")).get("accessToken");
+
+		assertThat(exchange(HttpMethod.GET, "/api/v1/customers/{id}/offerings/loans", accessToken, customer.getId())
+				.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(exchange(HttpMethod.DELETE, "/api/v1/customers/{id}", accessToken, customer.getId()).getStatusCode())
+				.isEqualTo(HttpStatus.OK);
+
+		ResponseEntity<Map> listing = exchange(HttpMethod.GET, "/api/v1/customers/{id}/offerings/loans", accessToken, customer.getId());
+		assertThat(listing.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(listing.getBody().get("code")).isEqualTo(403);
+
+		assertThat(exchange(HttpMethod.DELETE, "/api/v1/customers/{id}", accessToken, customer.getId()).getStatusCode())
+				.isEqualTo(HttpStatus.FORBIDDEN);
+	}
+
+}
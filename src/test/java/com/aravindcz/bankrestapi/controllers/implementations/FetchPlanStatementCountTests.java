@@ -0,0 +1,192 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+import com.aravindcz.bankrestapi.configurations.StatementBudgetReport;
+import com.aravindcz.bankrestapi.fixtures.TestFixtures;
+import com.aravindcz.bankrestapi.models.dtos.*;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.aravindcz.bankrestapi.repositories.interfaces.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of SQL statements each endpoint issues , a change that brings back eager or N+1 loading raises the count , reads
+ * are counted with the hibernate statistics and writes by the statement budget filter , which leaves out the sequence fetches
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+class FetchPlanStatementCountTests {
+
+	private static final int CUSTOMERS = 5;
+
+	private static final int PRODUCTS = 3;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private StatementBudgetReport statementBudgetReport;
+
+	@Value("${bulk.maximum-items}")
+	private int bulkMaximumItems;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+	private int batchSize;
+
+	private long customerId;
+
+	private long loanNumber;
+
+	private String customerEmail;
+
+	private String employeeEmail;
+
+	@BeforeEach
+	void setUp() {
+		String run = Long.toString(System.nanoTime());
+
+		for (int i = 0; i < CUSTOMERS; i++) {
+			TestFixtures.CustomerBuilder customerBuilder = TestFixtures.customer("fetch" + i + "." + run + "@bank.com")
+					.name("Customer " + i)
+					.accountNumber(9000 + i);
+
+			for (int j = 0; j < PRODUCTS; j++)
+				customerBuilder.loan(System.nanoTime(), 10000 + j).locker(System.nanoTime());
+
+			Customer customer = customerRepository.save(customerBuilder.build());
+			customerId = customer.getId();
+			customerEmail = customer.getEmail();
+			loanNumber = customer.getOffering().getLoan().iterator().next().getNumber();
+		}
+
+		employeeEmail = "fetch." + run + "@bank.com";
+		employeeRepository.save(TestFixtures.employee(employeeEmail));
+	}
+
+	private long statementsFor(String email, String url) {
+		TestRestTemplate client = restTemplate.withBasicAuth(email, "secret");
+
+		//the first call loads the principal into the principal cache
+		assertThat(client.getForEntity(url, Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		ResponseEntity<Map> response = client.getForEntity(url, Map.class);
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private int writeStatementsFor(HttpMethod method, String pattern, Object body, Object... variables) {
+		TestRestTemplate client = restTemplate.withBasicAuth(customerEmail, "secret");
+
+		//loads the principal into the principal cache
+		assertThat(client.getForEntity("/api/v1/customers/" + customerId, Map.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		ResponseEntity<Map> response = client.exchange(pattern, method, new HttpEntity<>(body), Map.class, variables);
+		assertThat(response.getStatusCode().is2xxSuccessful()).as(method + " " + pattern).isTrue();
+
+		return statementBudgetReport.get(method + " " + pattern).last();
+	}
+
+	@Test
+	void customerListingLoadsThePageInOneStatement() {
+		assertThat(statementsFor(employeeEmail, "/api/v1/customers")).isEqualTo(1);
+	}
+
+	@Test
+	void customerDetailLoadsInOneStatement() {
+		assertThat(statementsFor(customerEmail, "/api/v1/customers/" + customerId)).isEqualTo(1);
+	}
+
+	@Test
+	void offeringLoadsItsLoansAndLockersInTwoStatements() {
+		assertThat(statementsFor(customerEmail, "/api/v1/customers/" + customerId + "/offerings")).isEqualTo(2);
+	}
+
+	@Test
+	void loanListingReadsTheCustomerFromTheSecondLevelCache() {
+		assertThat(statementsFor(customerEmail, "/api/v1/customers/" + customerId + "/offerings/loans")).isEqualTo(1);
+	}
+
+	@Test
+	void loanLoadsInOneStatement() {
+		assertThat(statementsFor(customerEmail, "/api/v1/customers/" + customerId + "/offerings/loans/" + loanNumber))
+				.isEqualTo(1);
+	}
+
+	@Test
+	void customerUpdateInsertsTheNewDetailsAndUpdatesTheCustomer() {
+		CustomerDTO customerDTO = new CustomerDTO(customerId, "Customer", 9000, new BranchDTO("Main", 77, "BANK0000077"), "SAVINGS",
+				9876543210L, new CardDTO(4111111111111111L, 50000, new Date(System.currentTimeMillis() + 86400000L)), 123456789,
+				new AddressDTO("MG Road", "Kerala", "Kochi", "682001"));
+
+		//customer lookup , branch , card and address inserts and the customer update
+		assertThat(writeStatementsFor(HttpMethod.PUT, "/api/v1/customers/{id}", customerDTO, customerId)).isLessThanOrEqualTo(8);
+	}
+
+	@Test
+	void loanCreation() {
+		//customer lookup , number check and insert , the sequence fetch is not counted
+		assertThat(writeStatementsFor(HttpMethod.POST, "/api/v1/customers/{customerId}/offerings/loans",
+				new LoanDTO(System.nanoTime(), 1, 25000), customerId)).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void loanUpdate() {
+		assertThat(writeStatementsFor(HttpMethod.PUT, "/api/v1/customers/{customerId}/offerings/loans/{number}",
+				new LoanDTO(loanNumber, 1, 30000), customerId, loanNumber)).isEqualTo(2);
+	}
+
+	@Test
+	void loanDeletion() {
+		assertThat(writeStatementsFor(HttpMethod.DELETE, "/api/v1/customers/{customerId}/offerings/loans/{number}", null, customerId,
+				loanNumber)).isEqualTo(2);
+	}
+
+	@Test
+	void lockerCreation() {
+		assertThat(writeStatementsFor(HttpMethod.POST, "/api/v1/customers/{customerId}/offerings/lockers",
+				new LockerDTO(System.nanoTime(), 9000, 77), customerId)).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void largestBulkLoanCreationStaysWithinTheBudgetOfItsBatches() {
+		long firstNumber = System.nanoTime();
+		List<LoanDTO> loanDTOList = new ArrayList<>(bulkMaximumItems);
+
+		for(int i = 0; i < bulkMaximumItems; i++)
+			loanDTOList.add(new LoanDTO(firstNumber + i, 1, 25000));
+
+		//customer lookup , offering lookup , number check and one insert per jdbc batch , the sequence fetches are not counted
+		assertThat(writeStatementsFor(HttpMethod.POST, "/api/v1/customers/{customerId}/offerings/loans/bulk", loanDTOList, customerId))
+				.isLessThanOrEqualTo(3 + bulkMaximumItems / batchSize);
+	}
+
+}
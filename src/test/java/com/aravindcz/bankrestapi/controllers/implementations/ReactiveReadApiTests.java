@@ -0,0 +1,174 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+import com.aravindcz.bankrestapi.configurations.ReactiveReadServer;
+import com.aravindcz.bankrestapi.fixtures.TestFixtures;
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+/**
+ * Checks that the reactive read api serves the loans and lockers written through jpa with the same ownership rules , response
+ * bodies and entity tags as the servlet endpoints
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+class ReactiveReadApiTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private ReactiveReadServer reactiveReadServer;
+
+	private WebTestClient webTestClient;
+
+	private long customerId;
+
+	private long loanNumber;
+
+	private long lockerNumber;
+
+	private String accessToken;
+
+	@BeforeEach
+	void setUp() {
+		Customer customer = customerRepository.save(TestFixtures.customer("reactive." + System.nanoTime() + "@bank.com")
+				.loan(System.nanoTime(), 10000)
+				.locker(System.nanoTime())
+				.build());
+		customerId = customer.getId();
+		loanNumber = customer.getOffering().getLoan().iterator().next().getNumber();
+		lockerNumber = customer.getOffering().getLocker().iterator().next().getNumber();
+
+		ResponseEntity<Map> login = restTemplate.postForEntity("/api/v1/auth/login", new UserDTO(customer.getEmail(), "secret", null),
+				Map.class);
+		accessToken = (String) ((Map) login.getBody().get("data")).get("accessToken");
+
+		webTestClient = WebTestClient.bindToServer()
+				.baseUrl("http://localhost:" + reactiveReadServer.getPort() + "/api/v1/customers")
+				.build();
+	}
+
+	@Test
+	void loanListingMatchesTheServletEndpoint() {
+		HttpHeaders httpHeaders = new HttpHeaders();
+		httpHeaders.setBearerAuth(accessToken);
+
+		ResponseEntity<Map> servlet = restTemplate.exchange("/api/v1/customers/{customerId}/offerings/loans",
+				HttpMethod.GET, new HttpEntity<>(httpHeaders), Map.class, customerId);
+
+		webTestClient.get().uri("/{customerId}/offerings/loans", customerId)
+				.headers(headers -> headers.setBearerAuth(accessToken))
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, servlet.getHeaders().getETag())
+				.expectBody(Map.class).isEqualTo(servlet.getBody());
+	}
+
+	@Test
+	void loanDetail() {
+		webTestClient.get().uri("/{customerId}/offerings/loans/{number}", customerId, loanNumber)
+				.headers(headers -> headers.setBearerAuth(accessToken))
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+				.expectBody()
+				.jsonPath("$.code").isEqualTo(200)
+				.jsonPath("$.data.number").isEqualTo(loanNumber)
+				.jsonPath("$.data.amount").isEqualTo(10000);
+	}
+
+	@Test
+	void lockerListingIsNotSentAgainWhenTheClientHasIt() {
+		String eTag = webTestClient.get().uri("/{customerId}/offerings/lockers", customerId)
+				.headers(headers -> headers.setBearerAuth(accessToken))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.data[0].number").isEqualTo(lockerNumber)
+				.returnResult()
+				.getResponseHeaders().getETag();
+
+		webTestClient.get().uri("/{customerId}/offerings/lockers", customerId)
+				.headers(headers -> {
+					headers.setBearerAuth(accessToken);
+					headers.setIfNoneMatch(eTag);
+				})
+				.exchange()
+				.expectStatus().isNotModified()
+				.expectBody().isEmpty();
+	}
+
+	@Test
+	void lockerDetail() {
+		webTestClient.get().uri("/{customerId}/offerings/lockers/{number}", customerId, lockerNumber)
+				.headers(headers -> headers.setBearerAuth(accessToken))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.data.number").isEqualTo(lockerNumber)
+				.jsonPath("$.data.branchCode").isEqualTo(77);
+	}
+
+	@Test
+	void productsOfAnotherCustomerAreRefused() {
+		Customer other = customerRepository.save(TestFixtures.customer("reactive.other." + System.nanoTime() + "@bank.com").build());
+
+		webTestClient.get().uri("/{customerId}/offerings/loans", other.getId())
+				.headers(headers -> headers.setBearerAuth(accessToken))
+				.exchange()
+				.expectStatus().isForbidden()
+				.expectBody()
+				.jsonPath("$.status").isEqualTo(false)
+				.jsonPath("$.code").isEqualTo(403);
+	}
+
+	@Test
+	void unknownLoanIsRefusedLikeALoanOfAnotherCustomer() {
+		webTestClient.get().uri("/{customerId}/offerings/loans/{number}", customerId, loanNumber + 1)
+				.headers(headers -> headers.setBearerAuth(accessToken))
+				.exchange()
+				.expectStatus().isForbidden();
+	}
+
+	@Test
+	void numbersOutOfRangeAreBadRequests() {
+		webTestClient.get().uri("/{customerId}/offerings/loans/{number}", customerId, "99999999999999999999")
+				.headers(headers -> headers.setBearerAuth(accessToken))
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody()
+				.jsonPath("$.status").isEqualTo(false)
+				.jsonPath("$.code").isEqualTo(400);
+	}
+
+	@Test
+	void requestsWithoutAValidAccessTokenAreUnauthorized() {
+		webTestClient.get().uri("/{customerId}/offerings/loans", customerId)
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.UNAUTHORIZED);
+
+		webTestClient.get().uri("/{customerId}/offerings/loans", customerId)
+				.headers(headers -> headers.setBearerAuth(accessToken + "x"))
+				.exchange()
+				.expectStatus().isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+}
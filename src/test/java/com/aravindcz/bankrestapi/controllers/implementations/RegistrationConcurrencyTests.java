@@ -0,0 +1,75 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+import com.aravindcz.bankrestapi.models.dtos.UserDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("embedded")
+class RegistrationConcurrencyTests {
+
+	private static final int THREADS = 16;
+
+	private static final int REQUESTS = 200;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	private List<ResponseEntity<Map>> register(List<String> emails) throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+
+		try {
+			List<Future<ResponseEntity<Map>>> futures = emails.stream()
+					.map(email -> executorService.submit(() -> {
+						start.await();
+						return restTemplate.postForEntity("/api/v1/customers/register", new UserDTO(email, "secret", null), Map.class);
+					}))
+					.collect(Collectors.toList());
+
+			start.countDown();
+
+			List<ResponseEntity<Map>> responses = new ArrayList<>();
+			for (Future<ResponseEntity<Map>> future : futures)
+				responses.add(future.get(30, TimeUnit.SECONDS));
+			return responses;
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	@Test
+	void concurrentRegistrationsOfDistinctEmailsGetDistinctIds() throws Exception {
+		List<ResponseEntity<Map>> responses = register(IntStream.range(0, REQUESTS)
+				.mapToObj(i -> "distinct" + i + "@bank.com")
+				.collect(Collectors.toList()));
+
+		assertThat(responses).allMatch(response -> response.getStatusCode() == HttpStatus.CREATED);
+		assertThat(responses.stream().map(response -> response.getBody().get("data")).distinct()).hasSize(REQUESTS);
+	}
+
+	@Test
+	void concurrentRegistrationsOfTheSameEmailCreateOneAccount() throws Exception {
+		List<ResponseEntity<Map>> responses = register(IntStream.range(0, REQUESTS)
+				.mapToObj(i -> "same@bank.com")
+				.collect(Collectors.toList()));
+
+		assertThat(responses).filteredOn(response -> response.getStatusCode() == HttpStatus.CREATED).hasSize(1);
+		assertThat(responses).filteredOn(response -> response.getStatusCode() == HttpStatus.CONFLICT).hasSize(REQUESTS - 1);
+	}
+
+}
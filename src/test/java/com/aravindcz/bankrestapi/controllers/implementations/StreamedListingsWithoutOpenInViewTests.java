@@ -0,0 +1,97 @@
+package com.aravindcz.bankrestapi.controllers.implementations;
+
+import com.aravindcz.bankrestapi.fixtures.TestFixtures;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.models.entities.Employee;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.aravindcz.bankrestapi.repositories.interfaces.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins that the list responses , which convert their rows while they are written and so after the transaction of the service has
+ * ended , only read what the services loaded , without the open session in view a lazy association would fail the response
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.open-in-view=false")
+@ActiveProfiles("embedded")
+class StreamedListingsWithoutOpenInViewTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	private Customer customer;
+
+	private Employee manager;
+
+	private String managerEmail;
+
+	@BeforeEach
+	void setUp() {
+		customer = customerRepository.save(TestFixtures.customer("osiv." + System.nanoTime() + "@bank.com")
+				.loan(System.nanoTime(), 10000)
+				.locker(System.nanoTime())
+				.build());
+
+		managerEmail = "osiv.manager." + System.nanoTime() + "@bank.com";
+		Employee employee = TestFixtures.employee(managerEmail);
+		employee.setRole("ROLE_MANAGER");
+		manager = employeeRepository.save(employee);
+	}
+
+	//the page starting at the given row , other tests share the database and register accounts without details
+	private static String startingAt(long id) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id - 1).array());
+	}
+
+	private List<Map> listing(String email, String url) {
+		ResponseEntity<Map> response = restTemplate.withBasicAuth(email, TestFixtures.PASSWORD).getForEntity(url, Map.class);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+		return (List<Map>) response.getBody().get("data");
+	}
+
+	@Test
+	void customerListingCarriesTheDetailsOfEveryCustomer() {
+		Map first = listing(managerEmail, "/api/v1/customers?size=1&cursor=" + startingAt(customer.getId())).get(0);
+
+		assertThat(((Number) first.get("id")).longValue()).isEqualTo(customer.getId());
+		assertThat((Map) first.get("branch")).containsEntry("code", 77);
+		assertThat((Map) first.get("card")).containsKey("expiryDate");
+		assertThat((Map) first.get("address")).containsEntry("city", "Kochi");
+	}
+
+	@Test
+	void employeeListingCarriesTheAddressOfEveryEmployee() {
+		Map first = listing(managerEmail, "/api/v1/employees?size=1&cursor=" + startingAt(manager.getId())).get(0);
+
+		assertThat((Map) first.get("address")).containsEntry("city", "Kochi");
+	}
+
+	@Test
+	void productListingsOfTheCustomer() {
+		String offerings = "/api/v1/customers/" + customer.getId() + "/offerings";
+
+		assertThat(listing(customer.getEmail(), offerings + "/loans")).hasSize(1);
+		assertThat(listing(customer.getEmail(), offerings + "/lockers")).hasSize(1);
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.aravindcz.bankrestapi.exceptions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the domain exceptions are stackless and that every one of them gets its response entry
+ */
+class ErrorResponseTableTests {
+
+	@Test
+	void domainExceptionsDoNotCaptureAStackTrace() {
+		UnauthorizedCustomerException exception = new UnauthorizedCustomerException();
+
+		assertThat(exception.getStackTrace()).isEmpty();
+
+		exception.addSuppressed(new IllegalStateException());
+		assertThat(exception.getSuppressed()).isEmpty();
+	}
+
+	@Test
+	void serviceFailuresKeepTheirRootCause() {
+		IOException cause = new IOException("connection reset");
+		ServiceFailureException exception = new ServiceFailureException(cause);
+
+		assertThat(exception.getStackTrace()).isEmpty();
+		assertThat(exception.getCause()).isSameAs(cause);
+	}
+
+	@Test
+	void everyRequestFailingWithAnExceptionSharesItsEntryButNotItsBody() {
+		ErrorResponseTable.ErrorResponse errorResponse = ErrorResponseTable.of(new UnauthorizedCustomerException());
+
+		assertThat(ErrorResponseTable.of(new UnauthorizedCustomerException())).isSameAs(errorResponse);
+		assertThat(errorResponse.responseDTO()).isNotSameAs(errorResponse.responseDTO());
+		assertThat(errorResponse.event()).isEqualTo("unauthorized_customer");
+		assertThat(errorResponse.audited()).isTrue();
+		assertThat(errorResponse.responseEntity().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(errorResponse.responseDTO().getCode()).isEqualTo(403);
+		assertThat(errorResponse.responseDTO().isStatus()).isFalse();
+	}
+
+	@Test
+	void clientFailuresAreNotServerErrors() {
+		assertThat(ErrorResponseTable.of(new LoanNotFoundException()).httpStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+		assertThat(ErrorResponseTable.of(new InconsistentDetailsException()).httpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(ErrorResponseTable.of(new PreconditionFailedException()).httpStatus()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+		assertThat(ErrorResponseTable.of(new AccessDeniedException("denied")).httpStatus()).isEqualTo(HttpStatus.FORBIDDEN);
+		assertThat(ErrorResponseTable.of(new MethodArgumentTypeMismatchException("99999999999999999999", long.class, "customerId",
+				null, new NumberFormatException())).httpStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	void unmappedExceptionsAreServerErrors() {
+		assertThat(ErrorResponseTable.of(new ServiceFailureException(new IllegalStateException())).isServerError()).isTrue();
+		assertThat(ErrorResponseTable.of(new IllegalArgumentException()).responseDTO().getMessage()).isEqualTo("Server side error");
+		assertThat(ErrorResponseTable.of(new StatementBudgetExceededException(20, "select 1")).responseDTO().getMessage())
+				.isEqualTo("Request went over its sql statement budget");
+	}
+
+}
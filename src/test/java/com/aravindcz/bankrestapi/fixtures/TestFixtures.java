@@ -0,0 +1,97 @@
+package com.aravindcz.bankrestapi.fixtures;
+
+import com.aravindcz.bankrestapi.models.entities.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashSet;
+
+/**
+ * Builds the customer , offering and employee graphs the tests and benchmarks save or map , every customer gets the same branch ,
+ * card and address and its lockers are opened in its own account and branch , so the id and account number are set before the
+ * products are added , packaged in the test jar for the benchmarks module
+ */
+public final class TestFixtures {
+
+	public static final String PASSWORD = "secret";
+
+	private TestFixtures() {
+	}
+
+	/**
+	 * Starts a customer with a new offering and no products
+	 */
+	public static CustomerBuilder customer(String email) {
+		return new CustomerBuilder(email);
+	}
+
+	/**
+	 * Builds an employee with the same address as the customers
+	 */
+	public static Employee employee(String email) {
+		return new Employee(0, "Employee", 50000, "Manager", address(), new Date(), email, PASSWORD, "ROLE_EMPLOYEE");
+	}
+
+	//the card dto only accepts an expiry date in the future , so a customer read from the api can be sent back in an update
+	private static Date expiryDate() {
+		return Date.from(LocalDate.now().plusYears(3).atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+	private static Address address() {
+		return new Address(0, "MG Road", "Kerala", "Kochi", "682001");
+	}
+
+	public static final class CustomerBuilder {
+
+		private static final long BRANCH_CODE = 77;
+
+		private final Offering offering = new Offering(0, new LinkedHashSet<>(), new LinkedHashSet<>(), null, 0);
+
+		private final String email;
+
+		private long id;
+
+		private String name = "Customer";
+
+		private long accountNumber = 9000;
+
+		private CustomerBuilder(String email) {
+			this.email = email;
+		}
+
+		public CustomerBuilder id(long id) {
+			this.id = id;
+			return this;
+		}
+
+		public CustomerBuilder name(String name) {
+			this.name = name;
+			return this;
+		}
+
+		public CustomerBuilder accountNumber(long accountNumber) {
+			this.accountNumber = accountNumber;
+			return this;
+		}
+
+		public CustomerBuilder loan(long number, long amount) {
+			offering.getLoan().add(new Loan(0, number, id, amount, offering, 0));
+			return this;
+		}
+
+		public CustomerBuilder locker(long number) {
+			offering.getLocker().add(new Locker(0, number, accountNumber, BRANCH_CODE, offering, 0));
+			return this;
+		}
+
+		public Customer build() {
+			Customer customer = new Customer(id, name, accountNumber, new Branch(0, "Main", BRANCH_CODE, "BANK0000077"), "SAVINGS",
+					9876543210L, new Card(0, 4111111111111111L, 50000, expiryDate()), 123456789, address(), offering, email, PASSWORD,
+					"ROLE_CUSTOMER", 0);
+			offering.setCustomer(customer);
+			return customer;
+		}
+	}
+
+}
@@ -0,0 +1,268 @@
+package com.aravindcz.bankrestapi.load;
+
+import com.aravindcz.bankrestapi.fixtures.TestFixtures;
+import com.aravindcz.bankrestapi.models.dtos.*;
+import com.aravindcz.bankrestapi.models.entities.Customer;
+import com.aravindcz.bankrestapi.repositories.interfaces.CustomerRepository;
+import com.aravindcz.bankrestapi.repositories.interfaces.EmployeeRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the REST API over http against the embedded database and reports the throughput and latency of every endpoint , tagged
+ * load so it only runs with mvn test -Pload , the settings are in application-load.properties and can be overridden with system
+ * properties , for example -Dload.concurrency=64
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"embedded", "load"})
+class ApiLoadTests {
+
+	private static final String PASSWORD = TestFixtures.PASSWORD;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Value("${load.customers}")
+	private int customers;
+
+	@Value("${load.products-per-customer}")
+	private int productsPerCustomer;
+
+	@Value("${load.concurrency}")
+	private int concurrency;
+
+	@Value("${load.warmup-requests}")
+	private int warmupRequests;
+
+	@Value("${load.requests}")
+	private int requests;
+
+	@Value("${load.report-file}")
+	private File reportFile;
+
+	private final String run = Long.toString(System.nanoTime());
+
+	private final AtomicLong numbers = new AtomicLong(System.nanoTime());
+
+	private final LoadReport report = new LoadReport();
+
+	private final List<SeededCustomer> seededCustomers = new ArrayList<>();
+
+	private final BlockingQueue<long[]> createdLoans = new LinkedBlockingQueue<>();
+
+	private String employeeEmail;
+
+	private static class SeededCustomer {
+
+		private final long id;
+
+		private final String email;
+
+		private final long loanNumber;
+
+		private volatile String accessToken;
+
+		private SeededCustomer(long id, String email, long loanNumber) {
+			this.id = id;
+			this.email = email;
+			this.loanNumber = loanNumber;
+		}
+	}
+
+	private void seed() {
+		List<Customer> customerList = new ArrayList<>(customers);
+
+		for (int i = 0; i < customers; i++) {
+			TestFixtures.CustomerBuilder customerBuilder = TestFixtures.customer("load" + i + "." + run + "@bank.com")
+					.name("Customer " + i)
+					.accountNumber(9000 + i);
+
+			for (int j = 0; j < productsPerCustomer; j++)
+				customerBuilder.loan(numbers.incrementAndGet(), 10000 + j).locker(numbers.incrementAndGet());
+
+			customerList.add(customerBuilder.build());
+		}
+
+		for (Customer customer : customerRepository.saveAll(customerList))
+			seededCustomers.add(new SeededCustomer(customer.getId(), customer.getEmail(),
+					customer.getOffering().getLoan().iterator().next().getNumber()));
+
+		employeeEmail = "load." + run + "@bank.com";
+		employeeRepository.save(TestFixtures.employee(employeeEmail));
+	}
+
+	private SeededCustomer customer(int i) {
+		return seededCustomers.get(i % seededCustomers.size());
+	}
+
+	private HttpHeaders bearer(String accessToken) {
+		HttpHeaders httpHeaders = new HttpHeaders();
+		httpHeaders.setBearerAuth(accessToken);
+		return httpHeaders;
+	}
+
+	private ResponseEntity<Map> exchange(String url, HttpMethod method, Object body, HttpHeaders httpHeaders) {
+		return restTemplate.exchange(url, method, new HttpEntity<>(body, httpHeaders), Map.class);
+	}
+
+	private ResponseEntity<Map> get(SeededCustomer customer, String url) {
+		return exchange(url, HttpMethod.GET, null, bearer(customer.accessToken));
+	}
+
+	private String login(String email) {
+		ResponseEntity<Map> response = restTemplate.postForEntity("/api/v1/auth/login", new UserDTO(email, PASSWORD, null), Map.class);
+		if (!response.getStatusCode().is2xxSuccessful())
+			return null;
+		return (String) ((Map) response.getBody().get("data")).get("accessToken");
+	}
+
+	/**
+	 * Runs the warmup requests and then the measured requests of an endpoint , spread over the configured number of threads
+	 * @param endpoint - name of the endpoint in the report
+	 * @param request - makes the i-th request
+	 */
+	private void drive(String endpoint, IntFunction<ResponseEntity<?>> request) throws Exception {
+		ExecutorService executorService = Executors.newFixedThreadPool(concurrency);
+
+		try {
+			run(executorService, 0, warmupRequests, request, null);
+
+			long[] latencies = new long[requests];
+			long start = System.nanoTime();
+			long errors = run(executorService, warmupRequests, requests, request, latencies);
+
+			report.add(endpoint, latencies, errors, System.nanoTime() - start);
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private long run(ExecutorService executorService, int offset, int count, IntFunction<ResponseEntity<?>> request,
+					 long[] latencies) throws Exception {
+		List<Future<Boolean>> futures = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			int index = i;
+			futures.add(executorService.submit(() -> {
+				long start = System.nanoTime();
+				ResponseEntity<?> response = request.apply(offset + index);
+				if (latencies != null)
+					latencies[index] = System.nanoTime() - start;
+				return response.getStatusCode().is2xxSuccessful();
+			}));
+		}
+
+		long errors = 0;
+		for (Future<Boolean> future : futures)
+			if (!future.get(5, TimeUnit.MINUTES))
+				errors++;
+		return errors;
+	}
+
+	@Test
+	void driveTheApi() throws Exception {
+		seed();
+
+		report.setting("customers", customers);
+		report.setting("productsPerCustomer", productsPerCustomer);
+		report.setting("concurrency", concurrency);
+		report.setting("warmupRequests", warmupRequests);
+		report.setting("requests", requests);
+
+		drive("POST /customers/register", i -> restTemplate.postForEntity("/api/v1/customers/register",
+				new UserDTO("register" + i + "." + run + "@bank.com", PASSWORD, null), Map.class));
+
+		drive("POST /auth/login", i -> {
+			SeededCustomer customer = customer(i);
+			String accessToken = login(customer.email);
+			if (accessToken == null)
+				return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+			customer.accessToken = accessToken;
+			return ResponseEntity.ok().build();
+		});
+
+		//the login endpoint may not have reached every customer when there are fewer requests than customers
+		for (SeededCustomer customer : seededCustomers)
+			if (customer.accessToken == null)
+				customer.accessToken = login(customer.email);
+
+		String employeeToken = login(employeeEmail);
+
+		drive("GET /customers", i -> exchange("/api/v1/customers?size=50", HttpMethod.GET, null, bearer(employeeToken)));
+
+		drive("GET /customers/{id}", i -> get(customer(i), "/api/v1/customers/" + customer(i).id));
+
+		drive("POST /customers/{id}/offerings/loans", i -> {
+			SeededCustomer customer = customer(i);
+			long number = numbers.incrementAndGet();
+			ResponseEntity<Map> response = exchange("/api/v1/customers/" + customer.id + "/offerings/loans", HttpMethod.POST,
+					new LoanDTO(number, customer.id, 25000), bearer(customer.accessToken));
+			createdLoans.add(new long[]{i, number});
+			return response;
+		});
+
+		drive("GET /customers/{id}/offerings/loans", i -> get(customer(i),
+				"/api/v1/customers/" + customer(i).id + "/offerings/loans"));
+
+		drive("GET /customers/{id}/offerings/loans/{number}", i -> get(customer(i),
+				"/api/v1/customers/" + customer(i).id + "/offerings/loans/" + customer(i).loanNumber));
+
+		drive("PUT /customers/{id}/offerings/loans/{number}", i -> {
+			SeededCustomer customer = customer(i);
+			return exchange("/api/v1/customers/" + customer.id + "/offerings/loans/" + customer.loanNumber, HttpMethod.PUT,
+					new LoanDTO(customer.loanNumber, customer.id, 10000 + i), bearer(customer.accessToken));
+		});
+
+		drive("POST /customers/{id}/offerings/lockers", i -> {
+			SeededCustomer customer = customer(i);
+			return exchange("/api/v1/customers/" + customer.id + "/offerings/lockers", HttpMethod.POST,
+					new LockerDTO(numbers.incrementAndGet(), 9000 + i, 77), bearer(customer.accessToken));
+		});
+
+		drive("GET /customers/{id}/offerings/lockers", i -> get(customer(i),
+				"/api/v1/customers/" + customer(i).id + "/offerings/lockers"));
+
+		drive("DELETE /customers/{id}/offerings/loans/{number}", i -> {
+			long[] loan = createdLoans.poll();
+			SeededCustomer customer = customer((int) loan[0]);
+			return exchange("/api/v1/customers/" + customer.id + "/offerings/loans/" + loan[1], HttpMethod.DELETE, null,
+					bearer(customer.accessToken));
+		});
+
+		//runs last as the update replaces the customer details the other endpoints read
+		drive("PUT /customers/{id}", i -> {
+			SeededCustomer customer = customer(i);
+			CustomerDTO customerDTO = new CustomerDTO(customer.id, "Customer " + i, 9000 + i, new BranchDTO("Main", 77, "BANK0000077"),
+					"SAVINGS", 9876543210L, new CardDTO(4111111111111111L, 50000, new Date(System.currentTimeMillis() + 86400000L)),
+					123456789, new AddressDTO("MG Road", "Kerala", "Kochi", "682001"));
+			return exchange("/api/v1/customers/" + customer.id, HttpMethod.PUT, customerDTO, bearer(customer.accessToken));
+		});
+
+		report.write(reportFile);
+
+		assertThat(report.getEndpoints()).allSatisfy((endpoint, result) -> assertThat(result.get("errors"))
+				.as(endpoint).isEqualTo(0L));
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.aravindcz.bankrestapi.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects the latency of every request made by the load tests per endpoint and writes the throughput and latency percentiles as
+ * json , keys are sorted and no timestamps are written so the reports of two builds can be diffed directly
+ */
+class LoadReport {
+
+	private final Map<String, Object> settings = new TreeMap<>();
+
+	private final Map<String, Map<String, Object>> endpoints = new TreeMap<>();
+
+	void setting(String name, Object value) {
+		settings.put(name, value);
+	}
+
+	/**
+	 * Adds the results of one endpoint
+	 * @param endpoint - name of the endpoint , for example "GET /customers/{id}"
+	 * @param latencies - latency of each measured request in nanoseconds
+	 * @param errors - number of requests answered with an unexpected status
+	 * @param elapsedNanos - wall clock time taken by the measured requests
+	 */
+	synchronized void add(String endpoint, long[] latencies, long errors, long elapsedNanos) {
+		long[] sorted = latencies.clone();
+		Arrays.sort(sorted);
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("requests", sorted.length);
+		result.put("errors", errors);
+		result.put("throughputPerSecond", round(sorted.length / (elapsedNanos / 1e9)));
+		result.put("p50Millis", millis(percentile(sorted, 50)));
+		result.put("p95Millis", millis(percentile(sorted, 95)));
+		result.put("p99Millis", millis(percentile(sorted, 99)));
+		result.put("maxMillis", millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+
+		endpoints.put(endpoint, result);
+	}
+
+	Map<String, Map<String, Object>> getEndpoints() {
+		return endpoints;
+	}
+
+	void write(File file) throws IOException {
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("settings", settings);
+		report.put("endpoints", endpoints);
+
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null)
+			directory.mkdirs();
+
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+	}
+
+	//nearest rank percentile
+	private static long percentile(long[] sorted, int percentile) {
+		if (sorted.length == 0)
+			return 0;
+
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.max(rank, 1) - 1];
+	}
+
+	private static double millis(long nanos) {
+		return round(nanos / 1e6);
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.aravindcz.bankrestapi.models.dtos;
+
+import com.aravindcz.bankrestapi.models.entities.Loan;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the streamed list responses are written in exactly the json shape of ResponseDTO
+ */
+class StreamingResponseDTOTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Function<Loan, LoanDTO> mapper = loan -> new LoanDTO(loan.getNumber(), loan.getCustomerId(), loan.getAmount());
+
+	private final List<Loan> loanList = List.of(new Loan(1, 1001, 7, 25000, null, 0), new Loan(2, 1002, 7, 30000, null, 3));
+
+	private List<LoanDTO> loanDTOList() {
+		return loanList.stream().map(mapper).toList();
+	}
+
+	@Test
+	void matchesTheResponseOfACollectedList() throws Exception {
+		assertThat(objectMapper.writeValueAsString(new StreamingResponseDTO<>(200, "Loan details successfully retrieved", loanList, mapper)))
+				.isEqualTo(objectMapper.writeValueAsString(new ResponseDTO(true, 200, "Loan details successfully retrieved", loanDTOList())));
+	}
+
+	@Test
+	void matchesTheResponseOfAPageWithACursor() throws Exception {
+		assertThat(objectMapper.writeValueAsString(new StreamingResponseDTO<>(200, "Page", loanList, mapper, "Mg")))
+				.isEqualTo(objectMapper.writeValueAsString(new ResponseDTO(true, 200, "Page", loanDTOList(), "Mg")));
+	}
+
+	@Test
+	void matchesTheResponseOfAnEmptyList() throws Exception {
+		assertThat(objectMapper.writeValueAsString(new StreamingResponseDTO<>(200, "Empty", List.<Loan>of(), mapper)))
+				.isEqualTo(objectMapper.writeValueAsString(new ResponseDTO(true, 200, "Empty", List.of())));
+	}
+
+	@Test
+	void rowsAreConvertedOnlyWhenWritten() throws Exception {
+		AtomicInteger conversions = new AtomicInteger();
+
+		StreamingResponseDTO<Loan> responseDTO = new StreamingResponseDTO<>(200, "Loans", loanList, loan -> {
+			conversions.incrementAndGet();
+			return mapper.apply(loan);
+		});
+
+		assertThat(conversions).hasValue(0);
+
+		objectMapper.writeValueAsString(responseDTO);
+
+		assertThat(conversions).hasValue(loanList.size());
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.aravindcz.bankrestapi.models.mappers;
+
+import com.aravindcz.bankrestapi.models.dtos.*;
+import com.aravindcz.bankrestapi.models.entities.*;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cross checks the generated mappers against the model mapper output they replaced
+ */
+class MapperCrossCheckTests {
+
+	private final ModelMapper modelMapper = new ModelMapper();
+
+	private final AddressMapper addressMapper = new AddressMapperImpl();
+
+	private final CustomerMapper customerMapper = new CustomerMapperImpl(addressMapper);
+
+	private final EmployeeMapper employeeMapper = new EmployeeMapperImpl(addressMapper);
+
+	private final OfferingMapper offeringMapper = new OfferingMapperImpl();
+
+	private final UserMapper userMapper = new UserMapperImpl();
+
+	private Customer customer() {
+		Offering offering = new Offering(4, new LinkedHashSet<>(), new LinkedHashSet<>(), null, 0);
+		offering.getLoan().add(new Loan(5, 501, 1, 250000, offering, 0));
+		offering.getLocker().add(new Locker(6, 601, 9001, 77, offering, 0));
+
+		Customer customer = new Customer(1, "Aravind", 9001, new Branch(2, "Main", 77, "BANK0000077"), "SAVINGS",
+				9876543210L, new Card(3, 4111111111111111L, 50000, new Date()), 123456789, new Address(7, "MG Road",
+				"Kerala", "Kochi", "682001"), offering, "aravind@bank.com", "secret", "ROLE_CUSTOMER", 0);
+		offering.setCustomer(customer);
+		return customer;
+	}
+
+	private Employee employee() {
+		return new Employee(8, "Meera", 40000, "Manager", new Address(9, "Park Street", "Kerala", "Kochi", "682002"),
+				new Date(), "meera@bank.com", "secret", "ROLE_EMPLOYEE");
+	}
+
+	@Test
+	void customerToDTOMatchesModelMapper() {
+		Customer customer = customer();
+
+		assertThat(customerMapper.toCustomerDTO(customer))
+				.usingRecursiveComparison()
+				.isEqualTo(modelMapper.map(customer, CustomerDTO.class));
+	}
+
+	@Test
+	void customerDTOToEntityMatchesModelMapper() {
+		CustomerDTO customerDTO = modelMapper.map(customer(), CustomerDTO.class);
+
+		assertThat(customerMapper.toCustomer(customerDTO))
+				.usingRecursiveComparison()
+				.isEqualTo(modelMapper.map(customerDTO, Customer.class));
+	}
+
+	@Test
+	void employeeMappingsMatchModelMapper() {
+		Employee employee = employee();
+		EmployeeDTO employeeDTO = modelMapper.map(employee, EmployeeDTO.class);
+
+		assertThat(employeeMapper.toEmployeeDTO(employee))
+				.usingRecursiveComparison()
+				.isEqualTo(employeeDTO);
+		assertThat(employeeMapper.toEmployee(employeeDTO))
+				.usingRecursiveComparison()
+				.isEqualTo(modelMapper.map(employeeDTO, Employee.class));
+	}
+
+	@Test
+	void offeringMappingsMatchModelMapper() {
+		Offering offering = customer().getOffering();
+		OfferingDTO offeringDTO = modelMapper.map(offering, OfferingDTO.class);
+
+		assertThat(offeringMapper.toOfferingDTO(offering))
+				.usingRecursiveComparison()
+				.isEqualTo(offeringDTO);
+
+		//the generated mapper also links the products back to the offering which the model mapper left to the services , the
+		//products are held in sets whose elements are matched without their field paths so the back links are ignored by type
+		Offering mapped = offeringMapper.toOffering(offeringDTO);
+		assertThat(mapped)
+				.usingRecursiveComparison()
+				.ignoringFieldsOfTypes(Offering.class)
+				.isEqualTo(modelMapper.map(offeringDTO, Offering.class));
+		assertThat(mapped.getLoan()).allMatch(loan -> loan.getOffering() == mapped);
+		assertThat(mapped.getLocker()).allMatch(locker -> locker.getOffering() == mapped);
+	}
+
+	@Test
+	void userMappingsMatchModelMapper() {
+		UserDTO userDTO = new UserDTO("new@bank.com", "secret", "ROLE_CUSTOMER");
+
+		assertThat(userMapper.toUserDTO(customer()))
+				.usingRecursiveComparison()
+				.isEqualTo(modelMapper.map(customer(), UserDTO.class));
+		assertThat(userMapper.toUserDTO(employee()))
+				.usingRecursiveComparison()
+				.isEqualTo(modelMapper.map(employee(), UserDTO.class));
+		assertThat(customerMapper.toCustomer(userDTO))
+				.usingRecursiveComparison()
+				.isEqualTo(modelMapper.map(userDTO, Customer.class));
+		assertThat(employeeMapper.toEmployee(userDTO))
+				.usingRecursiveComparison()
+				.isEqualTo(modelMapper.map(userDTO, Employee.class));
+	}
+
+}
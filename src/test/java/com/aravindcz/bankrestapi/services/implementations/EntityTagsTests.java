@@ -0,0 +1,71 @@
+package com.aravindcz.bankrestapi.services.implementations;
+
+import com.aravindcz.bankrestapi.exceptions.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the entity tags of the get endpoints and the evaluation of the conditional request headers
+ */
+class EntityTagsTests {
+
+	private final EntityTags entityTags = new EntityTags();
+
+	private String listTag(long[]... rows) {
+		return entityTags.of(List.of(rows), row -> row[0], row -> row[1]);
+	}
+
+	@Test
+	void listTagDoesNotDependOnRowOrder() {
+		assertThat(listTag(new long[]{1, 0}, new long[]{2, 3})).isEqualTo(listTag(new long[]{2, 3}, new long[]{1, 0}));
+	}
+
+	@Test
+	void listTagChangesWhenARowIsUpdatedAddedOrRemoved() {
+		String tag = listTag(new long[]{1, 0}, new long[]{2, 3});
+
+		assertThat(tag).startsWith("W/\"");
+		assertThat(listTag(new long[]{1, 1}, new long[]{2, 3})).isNotEqualTo(tag);
+		assertThat(listTag(new long[]{1, 0}, new long[]{2, 3}, new long[]{4, 0})).isNotEqualTo(tag);
+		assertThat(listTag(new long[]{1, 0})).isNotEqualTo(tag);
+	}
+
+	@Test
+	void binaryEncodingsGetTagsOfTheirOwn() {
+		assertThat(entityTags.of(3, null)).isEqualTo("\"3\"");
+		assertThat(entityTags.of(3, "*/*")).isEqualTo("\"3\"");
+		assertThat(entityTags.of(3, "application/json")).isEqualTo("\"3\"");
+		assertThat(entityTags.of(3, "application/cbor")).isEqualTo("\"3-cbor\"");
+		assertThat(entityTags.of(3, "application/x-jackson-smile, */*")).isEqualTo("\"3-smile\"");
+		assertThat(entityTags.of(3, "application/json;q=0.5, application/cbor")).isEqualTo("\"3-cbor\"");
+		assertThat(entityTags.of(3, "application/cbor;q=0, */*")).isEqualTo("\"3\"");
+		assertThat(entityTags.of(List.of(new long[]{1, 0}), row -> row[0], row -> row[1], "application/cbor")).endsWith("-cbor\"");
+	}
+
+	@Test
+	void ifNoneMatchIsComparedWeakly() {
+		assertThat(entityTags.isNotModified(null, "\"3\"")).isFalse();
+		assertThat(entityTags.isNotModified("\"3\"", "\"3\"")).isTrue();
+		assertThat(entityTags.isNotModified("W/\"3\"", "\"3\"")).isTrue();
+		assertThat(entityTags.isNotModified("\"2\", \"3\"", "\"3\"")).isTrue();
+		assertThat(entityTags.isNotModified("*", "\"3\"")).isTrue();
+		assertThat(entityTags.isNotModified("\"2\"", "\"3\"")).isFalse();
+	}
+
+	@Test
+	void ifMatchIsComparedStrongly() {
+		assertThatCode(() -> entityTags.checkIfMatch(null, 3)).doesNotThrowAnyException();
+		assertThatCode(() -> entityTags.checkIfMatch("\"3\"", 3)).doesNotThrowAnyException();
+		assertThatCode(() -> entityTags.checkIfMatch("*", 3)).doesNotThrowAnyException();
+		assertThatCode(() -> entityTags.checkIfMatch("\"3-cbor\"", 3)).doesNotThrowAnyException();
+		assertThatThrownBy(() -> entityTags.checkIfMatch("\"2-smile\"", 3)).isInstanceOf(PreconditionFailedException.class);
+		assertThatThrownBy(() -> entityTags.checkIfMatch("\"2\"", 3)).isInstanceOf(PreconditionFailedException.class);
+		assertThatThrownBy(() -> entityTags.checkIfMatch("W/\"3\"", 3)).isInstanceOf(PreconditionFailedException.class);
+	}
+
+}